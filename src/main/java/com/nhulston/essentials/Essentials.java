@@ -8,6 +8,7 @@ import com.nhulston.essentials.commands.essentials.EssentialsCommand;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
 import com.nhulston.essentials.commands.god.GodCommand;
 import com.nhulston.essentials.commands.heal.HealCommand;
+import com.nhulston.essentials.commands.ignore.IgnoreCommand;
 import com.nhulston.essentials.commands.home.DelHomeCommand;
 import com.nhulston.essentials.commands.home.HomeCommand;
 import com.nhulston.essentials.commands.home.SetHomeCommand;
@@ -23,14 +24,22 @@ import com.nhulston.essentials.commands.tphere.TphereCommand;
 import com.nhulston.essentials.commands.spawn.SetSpawnCommand;
 import com.nhulston.essentials.commands.spawn.SpawnCommand;
 import com.nhulston.essentials.commands.tpa.TpaCommand;
+import com.nhulston.essentials.commands.tpa.TpaallCommand;
 import com.nhulston.essentials.commands.tpa.TpacceptCommand;
+import com.nhulston.essentials.commands.tpa.TpahereCommand;
+import com.nhulston.essentials.commands.tpa.TpautoCommand;
+import com.nhulston.essentials.commands.tpa.TpcancelCommand;
+import com.nhulston.essentials.commands.tpa.TpdenyCommand;
+import com.nhulston.essentials.commands.tpa.TptoggleCommand;
 import com.nhulston.essentials.commands.warp.DelWarpCommand;
 import com.nhulston.essentials.commands.warp.SetWarpCommand;
 import com.nhulston.essentials.commands.warp.WarpCommand;
 import com.nhulston.essentials.events.BuildProtectionEvent;
 import com.nhulston.essentials.events.ChatEvent;
 import com.nhulston.essentials.events.DeathLocationEvent;
+import com.nhulston.essentials.events.MailEvent;
 import com.nhulston.essentials.events.MotdEvent;
+import com.nhulston.essentials.events.OnlinePlayerEvent;
 import com.nhulston.essentials.events.PlayerQuitEvent;
 import com.nhulston.essentials.events.SpawnProtectionEvent;
 import com.nhulston.essentials.events.SpawnRegionTitleEvent;
@@ -38,21 +47,34 @@ import com.nhulston.essentials.events.SpawnTeleportEvent;
 import com.nhulston.essentials.events.TeleportMovementEvent;
 import com.nhulston.essentials.events.SleepPercentageEvent;
 import com.nhulston.essentials.events.UpdateNotifyEvent;
+import com.nhulston.essentials.managers.AntiSpamManager;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.BroadcastManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.HomeManager;
+import com.nhulston.essentials.managers.IgnoreManager;
 import com.nhulston.essentials.managers.KitManager;
+import com.nhulston.essentials.managers.MessageManager;
+import com.nhulston.essentials.managers.MessageThrottleManager;
+import com.nhulston.essentials.managers.OnlinePlayerManager;
+import com.nhulston.essentials.managers.RosterManager;
 import com.nhulston.essentials.managers.SpawnManager;
 import com.nhulston.essentials.managers.SpawnProtectionManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.managers.WarpManager;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigWatcher;
+import com.nhulston.essentials.util.StartupProfiler;
 import com.nhulston.essentials.util.StorageManager;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.VersionChecker;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class Essentials extends JavaPlugin {
     public static final String VERSION = "1.5.1";
@@ -69,8 +91,18 @@ public class Essentials extends JavaPlugin {
     private TpaManager tpaManager;
     private TeleportManager teleportManager;
     private KitManager kitManager;
+    private CooldownManager cooldownManager;
     private BackManager backManager;
+    private MessageThrottleManager messageThrottleManager;
+    private BroadcastManager broadcastManager;
+    private IgnoreManager ignoreManager;
+    private AntiSpamManager antiSpamManager;
+    private OnlinePlayerManager onlinePlayerManager;
+    private RosterManager rosterManager;
+    private MessageManager messageManager;
     private VersionChecker versionChecker;
+    private ConfigWatcher configWatcher;
+    private StartupProfiler startupProfiler;
 
     public Essentials(@Nonnull JavaPluginInit init) {
         super(init);
@@ -79,32 +111,64 @@ public class Essentials extends JavaPlugin {
     @Override
     protected void setup() {
         instance = this;
+        startupProfiler = new StartupProfiler();
         Log.init(getLogger());
         Log.info("Essentials is starting...");
 
-        configManager = new ConfigManager(getDataDirectory());
-        storageManager = new StorageManager(getDataDirectory());
+        // Config, warps/spawn and kits read separate files, so load them in parallel
+        Path dataDirectory = getDataDirectory();
+        storageManager = new StorageManager(dataDirectory);
+        CompletableFuture<ConfigManager> configTask = CompletableFuture.supplyAsync(
+                () -> startupProfiler.time("config", () -> new ConfigManager(dataDirectory)));
+        CompletableFuture<Void> storageTask = CompletableFuture.runAsync(
+                () -> startupProfiler.run("storage", storageManager::load));
+        CompletableFuture<KitManager> kitTask = CompletableFuture.supplyAsync(
+                () -> startupProfiler.time("kits", () -> new KitManager(dataDirectory)));
+
+        try {
+            CompletableFuture.allOf(configTask, storageTask, kitTask).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            Log.error("Essentials failed to load: " + cause.getMessage(), cause);
+            throw e;
+        }
+        configManager = configTask.join();
+        kitManager = kitTask.join();
+        cooldownManager = new CooldownManager(configManager, storageManager, kitManager);
 
         homeManager = new HomeManager(storageManager, configManager);
         warpManager = new WarpManager(storageManager);
         spawnManager = new SpawnManager(storageManager);
         chatManager = new ChatManager(configManager);
         spawnProtectionManager = new SpawnProtectionManager(configManager, storageManager);
-        tpaManager = new TpaManager();
-        teleportManager = new TeleportManager(configManager);
-        kitManager = new KitManager(getDataDirectory(), storageManager);
-        backManager = new BackManager();
+        backManager = new BackManager(storageManager);
+        teleportManager = new TeleportManager(configManager, backManager);
+        tpaManager = new TpaManager(configManager, storageManager, teleportManager);
+        messageThrottleManager = new MessageThrottleManager();
+        broadcastManager = new BroadcastManager();
+        ignoreManager = new IgnoreManager(storageManager);
+        antiSpamManager = new AntiSpamManager(configManager, messageThrottleManager);
+        onlinePlayerManager = new OnlinePlayerManager();
+        rosterManager = new RosterManager(configManager);
+        messageManager = new MessageManager(dataDirectory, storageManager, ignoreManager, antiSpamManager);
         versionChecker = new VersionChecker(VERSION);
     }
 
     @Override
     protected void start() {
-        registerCommands();
-        registerEvents();
+        startupProfiler.run("commands", this::registerCommands);
+        startupProfiler.run("events", this::registerEvents);
+
+        // Reload config.toml and kits.toml when they are edited on disk
+        configWatcher = new ConfigWatcher(getDataDirectory());
+        configWatcher.watch("config.toml", configManager::reloadIfChanged);
+        configWatcher.watch("kits.toml", kitManager::reloadIfChanged);
+        configWatcher.start();
         
         // Check for updates asynchronously
         versionChecker.checkForUpdatesAsync();
         
+        startupProfiler.finish();
         Log.info("Essentials v" + VERSION + " started successfully!");
     }
 
@@ -112,6 +176,15 @@ public class Essentials extends JavaPlugin {
     protected void shutdown() {
         Log.info("Essentials is shutting down...");
 
+        if (configWatcher != null) {
+            configWatcher.shutdown();
+        }
+
+        // /back history only reaches player data on quit, so flush it for players still online
+        if (backManager != null) {
+            backManager.saveAll();
+        }
+
         if (storageManager != null) {
             storageManager.shutdown();
         }
@@ -124,6 +197,18 @@ public class Essentials extends JavaPlugin {
             teleportManager.shutdown();
         }
 
+        if (broadcastManager != null) {
+            broadcastManager.shutdown();
+        }
+
+        if (messageManager != null) {
+            messageManager.shutdown();
+        }
+
+        if (kitManager != null) {
+            kitManager.shutdown();
+        }
+
         Log.info("Essentials shut down.");
     }
 
@@ -144,19 +229,25 @@ public class Essentials extends JavaPlugin {
 
         // TPA commands
         getCommandRegistry().registerCommand(new TpaCommand(tpaManager));
-        getCommandRegistry().registerCommand(new TpacceptCommand(tpaManager, teleportManager));
+        getCommandRegistry().registerCommand(new TpahereCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpacceptCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpdenyCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpcancelCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpaallCommand(tpaManager, broadcastManager));
+        getCommandRegistry().registerCommand(new TpautoCommand(storageManager));
+        getCommandRegistry().registerCommand(new TptoggleCommand(storageManager));
 
         // Kit command
-        getCommandRegistry().registerCommand(new KitCommand(kitManager));
+        getCommandRegistry().registerCommand(new KitCommand(kitManager, cooldownManager));
 
         // Back command
         getCommandRegistry().registerCommand(new BackCommand(backManager, teleportManager));
 
         // RTP command
-        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager));
+        getCommandRegistry().registerCommand(new RtpCommand(configManager, cooldownManager, teleportManager));
 
         // List command
-        getCommandRegistry().registerCommand(new ListCommand());
+        getCommandRegistry().registerCommand(new ListCommand(rosterManager));
 
         // Heal command
         getCommandRegistry().registerCommand(new HealCommand());
@@ -167,11 +258,14 @@ public class Essentials extends JavaPlugin {
         // God command
         getCommandRegistry().registerCommand(new GodCommand());
 
+        // Ignore command
+        getCommandRegistry().registerCommand(new IgnoreCommand(ignoreManager, storageManager, onlinePlayerManager));
+
         // Msg command (with aliases: m, message, whisper, pm)
-        getCommandRegistry().registerCommand(new MsgCommand());
+        getCommandRegistry().registerCommand(new MsgCommand(messageManager, onlinePlayerManager));
 
         // Reply command (with alias: reply)
-        getCommandRegistry().registerCommand(new ReplyCommand());
+        getCommandRegistry().registerCommand(new ReplyCommand(messageManager));
 
         // Tphere command
         getCommandRegistry().registerCommand(new TphereCommand());
@@ -183,26 +277,31 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new EssentialsCommand());
 
         // Shout/broadcast command
-        getCommandRegistry().registerCommand(new ShoutCommand(configManager));
+        getCommandRegistry().registerCommand(new ShoutCommand(configManager, broadcastManager));
 
         // Repair command
-        getCommandRegistry().registerCommand(new RepairCommand(configManager, storageManager));
+        getCommandRegistry().registerCommand(new RepairCommand(configManager, cooldownManager));
     }
 
     private void registerEvents() {
-        new ChatEvent(chatManager).register(getEventRegistry());
-        new BuildProtectionEvent(configManager).register(getEntityStoreRegistry());
-        new SpawnProtectionEvent(spawnProtectionManager).register(getEntityStoreRegistry());
+        new OnlinePlayerEvent(onlinePlayerManager, rosterManager).register(getEventRegistry());
+        new ChatEvent(chatManager, ignoreManager, broadcastManager, antiSpamManager).register(getEventRegistry());
+        new BuildProtectionEvent(configManager, messageThrottleManager).register(getEntityStoreRegistry());
+        new SpawnProtectionEvent(spawnProtectionManager, messageThrottleManager).register(getEntityStoreRegistry());
         new SpawnRegionTitleEvent(spawnProtectionManager, configManager).register(getEntityStoreRegistry());
         new TeleportMovementEvent(teleportManager).register(getEntityStoreRegistry());
 
-        SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager);
+        SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager,
+                broadcastManager);
         spawnTeleportEvent.registerEvents(getEventRegistry());
         spawnTeleportEvent.registerSystems(getEntityStoreRegistry());
 
         // Death location tracking for /back
         new DeathLocationEvent(backManager).register(getEntityStoreRegistry());
 
+        // Offline mail delivery on join
+        new MailEvent(messageManager).register(getEventRegistry());
+
         // MOTD on join
         new MotdEvent(configManager).register(getEventRegistry());
 
@@ -213,7 +312,9 @@ public class Essentials extends JavaPlugin {
         new SleepPercentageEvent(configManager).register(getEntityStoreRegistry());
 
         // Player disconnect cleanup
-        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager).register(getEventRegistry());
+        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager, messageThrottleManager,
+                chatManager, ignoreManager, antiSpamManager, messageManager, cooldownManager)
+                .register(getEventRegistry());
 
         // Sync spawn provider with world config after all worlds are loaded
         // This updates the spawn marker on the map
@@ -230,6 +331,71 @@ public class Essentials extends JavaPlugin {
         return instance;
     }
 
+    /**
+     * Gets the shared throttle for repeated feedback messages.
+     */
+    @Nonnull
+    public MessageThrottleManager getMessageThrottleManager() {
+        return messageThrottleManager;
+    }
+
+    /**
+     * Gets the broadcast manager (fan-out and chat metrics).
+     */
+    @Nonnull
+    public BroadcastManager getBroadcastManager() {
+        return broadcastManager;
+    }
+
+    /**
+     * Gets the ignore list manager.
+     */
+    @Nonnull
+    public IgnoreManager getIgnoreManager() {
+        return ignoreManager;
+    }
+
+    /**
+     * Gets the chat flood protection manager.
+     */
+    @Nonnull
+    public AntiSpamManager getAntiSpamManager() {
+        return antiSpamManager;
+    }
+
+    /**
+     * Gets the cooldown manager.
+     */
+    @Nonnull
+    public CooldownManager getCooldownManager() {
+        return cooldownManager;
+    }
+
+    /**
+     * Gets the private message and mail manager.
+     */
+    @Nonnull
+    public MessageManager getMessageManager() {
+        return messageManager;
+    }
+
+    /**
+     * Gets the chat manager. Permission plugins can call {@link ChatManager#invalidatePlayer}
+     * after changing a player's groups so the new chat format applies immediately.
+     */
+    @Nonnull
+    public ChatManager getChatManager() {
+        return chatManager;
+    }
+
+    /**
+     * Gets the startup timing report.
+     */
+    @Nonnull
+    public StartupProfiler getStartupProfiler() {
+        return startupProfiler;
+    }
+
     /**
      * Reloads all configuration files.
      */
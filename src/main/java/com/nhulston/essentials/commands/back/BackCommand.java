@@ -4,55 +4,92 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.managers.BackManager;
 import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.models.BackLocation;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import java.util.UUID;
 
 /**
- * Command to teleport back to the player's last death location.
- * Usage: /back
+ * Command to teleport back to where the player died or was before a teleport.
+ * Usage: /back - Return to the most recent location
+ * Usage: /back <n> - Return to the nth most recent location
  */
 public class BackCommand extends AbstractPlayerCommand {
     private final BackManager backManager;
     private final TeleportManager teleportManager;
 
     public BackCommand(@Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager) {
-        super("back", "Teleport to your last death location");
+        super("back", "Teleport to a previous location");
         this.backManager = backManager;
         this.teleportManager = teleportManager;
 
         requirePermission("essentials.back");
+        addUsageVariant(new BackIndexCommand(backManager, teleportManager));
     }
 
     @Override
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-        java.util.UUID playerUuid = playerRef.getUuid();
-        BackManager.DeathLocation deathLocation = backManager.getDeathLocation(playerUuid);
+        // /back (no args) - most recent location
+        doBack(context, store, ref, playerRef, 1, backManager, teleportManager);
+    }
 
-        if (deathLocation == null) {
-            Msg.fail(context, "You have no death location to return to.");
+    private static void doBack(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, int index,
+                               @Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager) {
+        UUID playerUuid = playerRef.getUuid();
+        int count = backManager.getLocationCount(playerUuid);
+        if (count == 0) {
+            Msg.fail(context, "You have no previous location to return to.");
+            return;
+        }
+
+        BackLocation location = backManager.getLocation(playerUuid, index);
+        if (location == null) {
+            Msg.fail(context, "Usage: /back [1-" + count + "]");
             return;
         }
 
         Vector3d startPosition = playerRef.getTransform().getPosition();
 
+        // The teleport records the current position, so /back again returns here
         teleportManager.queueTeleport(
             playerRef, ref, store, startPosition,
-            deathLocation.getWorldName(),
-            deathLocation.getX(),
-            deathLocation.getY(),
-            deathLocation.getZ(),
-            deathLocation.getYaw(),
-            deathLocation.getPitch(),
-            "Teleported to your last death location.",
-            () -> backManager.clearDeathLocation(playerUuid)
+            location.getWorld(),
+            location.getX(),
+            location.getY(),
+            location.getZ(),
+            location.getYaw(),
+            location.getPitch(),
+            location.isDeath() ? "Teleported to your death location." : "Teleported to your previous location."
         );
     }
+
+    private static class BackIndexCommand extends AbstractPlayerCommand {
+        private final BackManager backManager;
+        private final TeleportManager teleportManager;
+        private final RequiredArg<Integer> indexArg;
+
+        BackIndexCommand(@Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager) {
+            super("Teleport to an earlier location");
+            this.backManager = backManager;
+            this.teleportManager = teleportManager;
+            this.indexArg = withRequiredArg("n", "How many locations to go back (1 = most recent)", ArgTypes.INTEGER);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doBack(context, store, ref, playerRef, context.get(indexArg), backManager, teleportManager);
+        }
+    }
 }
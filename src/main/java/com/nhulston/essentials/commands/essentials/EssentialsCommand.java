@@ -17,6 +17,7 @@ import javax.annotation.Nonnull;
  * Main essentials command.
  * Usage: /essentials - Shows version info with clickable link
  * Usage: /essentials reload - Reloads configuration (requires essentials.reload permission)
+ * Usage: /essentials stats - Shows runtime statistics (requires essentials.stats permission)
  */
 public class EssentialsCommand extends AbstractPlayerCommand {
     private static final String CURSEFORGE_URL = "https://www.curseforge.com/hytale/mods/essentials-core";
@@ -28,8 +29,9 @@ public class EssentialsCommand extends AbstractPlayerCommand {
 
         addAliases("ess");
 
-        // Add reload subcommand
+        // Add reload and stats subcommands
         addSubCommand(new EssentialsReloadCommand());
+        addSubCommand(new EssentialsStatsCommand());
     }
 
     @Override
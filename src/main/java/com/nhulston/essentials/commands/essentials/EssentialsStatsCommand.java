@@ -0,0 +1,72 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.AntiSpamManager;
+import com.nhulston.essentials.managers.BroadcastManager;
+import com.nhulston.essentials.managers.CooldownManager;
+import com.nhulston.essentials.managers.MessageThrottleManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StartupProfiler;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Subcommand to show EssentialsCore runtime counters.
+ * Usage: /essentials stats
+ * Requires: essentials.stats permission
+ */
+public class EssentialsStatsCommand extends AbstractPlayerCommand {
+
+    public EssentialsStatsCommand() {
+        super("stats", "Show EssentialsCore runtime statistics");
+
+        requirePermission("essentials.stats");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        Essentials plugin = Essentials.getInstance();
+
+        StartupProfiler profiler = plugin.getStartupProfiler();
+        Msg.info(context, "Startup: " + StartupProfiler.formatMillis(profiler.getTotalNanos()));
+        for (StartupProfiler.Phase phase : profiler.getPhases()) {
+            Msg.prefix(context, "  " + phase.name(), StartupProfiler.formatMillis(phase.nanos()));
+        }
+
+        BroadcastManager broadcasts = plugin.getBroadcastManager();
+        Msg.info(context, "Chat:");
+        Msg.prefix(context, "  Messages", broadcasts.getChatMessageCount() + " to " + broadcasts.getChatRecipients()
+                + " recipients (" + broadcasts.getChatFiltered() + " filtered by ignore lists)");
+        Msg.prefix(context, "  Broadcasts", broadcasts.getBroadcastCount() + " to " + broadcasts.getBroadcastRecipients()
+                + " recipients");
+        Msg.prefix(context, "  Fan-out", "avg " + StartupProfiler.formatMillis(broadcasts.getAverageFanOutNanos())
+                + ", max " + StartupProfiler.formatMillis(broadcasts.getMaxFanOutNanos()));
+
+        AntiSpamManager antiSpam = plugin.getAntiSpamManager();
+        Msg.prefix(context, "  Spam dropped", antiSpam.getCount(AntiSpamManager.Result.RATE_LIMITED) + " rate limited, "
+                + antiSpam.getCount(AntiSpamManager.Result.DUPLICATE) + " duplicate, "
+                + antiSpam.getCount(AntiSpamManager.Result.MUTED) + " while muted ("
+                + antiSpam.getMuteCount() + " mutes)");
+
+        CooldownManager cooldowns = plugin.getCooldownManager();
+        Msg.info(context, "Kits:");
+        Msg.prefix(context, "  Claims", cooldowns.getClaimCount(CooldownManager.ClaimResult.CLAIMED) + " claimed, "
+                + cooldowns.getClaimCount(CooldownManager.ClaimResult.ON_COOLDOWN) + " denied (cooldown), "
+                + cooldowns.getClaimCount(CooldownManager.ClaimResult.REJECTED) + " rejected (duplicate or race)");
+
+        MessageThrottleManager throttle = plugin.getMessageThrottleManager();
+        Msg.info(context, "Throttled messages (" + throttle.getTotalSuppressed() + " suppressed):");
+        for (MessageThrottleManager.ThrottledMessage message : throttle.getMessages()) {
+            Msg.prefix(context, "  " + message.getKey(),
+                    "sent " + message.getSentCount() + ", suppressed " + message.getSuppressedCount());
+        }
+    }
+}
@@ -13,13 +13,16 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.managers.HomeManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.models.Home;
+import com.nhulston.essentials.models.HomeIndex;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
 
 public class HomeCommand extends AbstractPlayerCommand {
+    private static final String NEAREST = "nearest";
+
     private final HomeManager homeManager;
     private final TeleportManager teleportManager;
 
@@ -37,19 +40,45 @@ public class HomeCommand extends AbstractPlayerCommand {
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World currentWorld) {
         UUID playerUuid = playerRef.getUuid();
-        Map<String, Home> homes = homeManager.getHomes(playerUuid);
+        HomeIndex homes = homeManager.getHomeIndex(playerUuid);
 
-        if (homes.isEmpty()) {
+        if (homes.size() == 0) {
             Msg.fail(context, "You don't have any homes set. Use /sethome to set one.");
             return;
         }
 
         if (homes.size() == 1) {
-            String homeName = homes.keySet().iterator().next();
+            String homeName = homes.getNames().getFirst();
             doTeleportToHome(context, store, ref, playerRef, homeName, homeManager, teleportManager);
         } else {
-            Msg.prefix(context, "Homes", String.join(", ", homes.keySet()));
+            Msg.prefix(context, "Homes", formatHomes(homes, playerRef, currentWorld.getName()));
+        }
+    }
+
+    /**
+     * Lists homes closest first, with distances for homes in the player's world.
+     */
+    @Nonnull
+    private static String formatHomes(@Nonnull HomeIndex homes, @Nonnull PlayerRef playerRef,
+                                      @Nonnull String worldName) {
+        Vector3d position = playerRef.getTransform().getPosition();
+        StringBuilder text = new StringBuilder();
+        for (String name : homes.sortByDistance(worldName, position.getX(), position.getY(), position.getZ())) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            Home home = homes.getHome(name);
+            text.append(name);
+            if (home.getWorld().equals(worldName)) {
+                double dx = home.getX() - position.getX();
+                double dy = home.getY() - position.getY();
+                double dz = home.getZ() - position.getZ();
+                text.append(" (").append(Math.round(Math.sqrt(dx * dx + dy * dy + dz * dz))).append("m)");
+            } else {
+                text.append(" [").append(home.getWorld()).append(']');
+            }
         }
+        return text.toString();
     }
 
     static void doTeleportToHome(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
@@ -80,13 +109,35 @@ public class HomeCommand extends AbstractPlayerCommand {
             super("Teleport to a specific home");
             this.homeManager = homeManager;
             this.teleportManager = teleportManager;
-            this.nameArg = withRequiredArg("name", "Home name", ArgTypes.STRING);
+            this.nameArg = withRequiredArg("name", "Home name, or 'nearest'", ArgTypes.STRING);
         }
 
         @Override
         protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                                @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-            String homeName = context.get(nameArg);
+            String query = context.get(nameArg);
+            HomeIndex homes = homeManager.getHomeIndex(playerRef.getUuid());
+
+            // A home actually named "nearest" still wins
+            String homeName = homes.resolve(query);
+            if (homeName == null && query.equalsIgnoreCase(NEAREST)) {
+                Vector3d position = playerRef.getTransform().getPosition();
+                homeName = homes.findNearest(world.getName(), position.getX(), position.getY(), position.getZ());
+                if (homeName == null) {
+                    Msg.fail(context, "You don't have any homes in this world.");
+                    return;
+                }
+            }
+
+            if (homeName == null) {
+                List<String> matches = homes.findByPrefix(query);
+                if (matches.isEmpty()) {
+                    Msg.fail(context, "Home '" + query + "' not found.");
+                } else {
+                    Msg.fail(context, "Home '" + query + "' is ambiguous: " + String.join(", ", matches));
+                }
+                return;
+            }
             doTeleportToHome(context, store, ref, playerRef, homeName, homeManager, teleportManager);
         }
     }
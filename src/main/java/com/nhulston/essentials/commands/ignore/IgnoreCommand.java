@@ -0,0 +1,118 @@
+package com.nhulston.essentials.commands.ignore;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.OnlinePlayerManager;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command to hide chat and private messages from a player.
+ * Usage: /ignore - List ignored players
+ * Usage: /ignore <player> - Toggle ignoring a player
+ */
+public class IgnoreCommand extends AbstractPlayerCommand {
+    private final StorageManager storageManager;
+
+    public IgnoreCommand(@Nonnull IgnoreManager ignoreManager, @Nonnull StorageManager storageManager,
+                         @Nonnull OnlinePlayerManager onlinePlayerManager) {
+        super("ignore", "Ignore or un-ignore a player");
+        this.storageManager = storageManager;
+
+        requirePermission("essentials.ignore");
+        addUsageVariant(new IgnorePlayerCommand(ignoreManager, storageManager, onlinePlayerManager));
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        Map<String, String> ignored = storageManager.getPlayerData(playerRef.getUuid()).getIgnoredPlayers();
+        if (ignored.isEmpty()) {
+            Msg.info(context, "You are not ignoring anyone.");
+        } else {
+            Msg.prefix(context, "Ignored", String.join(", ", ignored.values()));
+        }
+    }
+
+    private static void doIgnore(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                                 @Nonnull String targetName, @Nonnull IgnoreManager ignoreManager,
+                                 @Nonnull StorageManager storageManager,
+                                 @Nonnull OnlinePlayerManager onlinePlayerManager) {
+        PlayerData data = storageManager.getPlayerData(playerRef.getUuid());
+        UUID targetUuid = null;
+        String resolvedName = targetName;
+
+        // Exact online name first, then an exact ignored (possibly offline) name, and only then
+        // a partial online name
+        PlayerRef target = onlinePlayerManager.getPlayer(targetName);
+        if (target == null) {
+            // Allow un-ignoring players who are offline
+            for (Map.Entry<String, String> entry : data.getIgnoredPlayers().entrySet()) {
+                if (entry.getValue().equalsIgnoreCase(targetName)) {
+                    targetUuid = UUID.fromString(entry.getKey());
+                    resolvedName = entry.getValue();
+                    break;
+                }
+            }
+            if (targetUuid == null) {
+                target = onlinePlayerManager.findPlayer(targetName);
+            }
+        }
+        if (target != null) {
+            targetUuid = target.getUuid();
+            resolvedName = target.getUsername();
+        }
+
+        if (targetUuid == null) {
+            Msg.fail(context, "Player '" + targetName + "' not found.");
+            return;
+        }
+
+        if (targetUuid.equals(playerRef.getUuid())) {
+            Msg.fail(context, "You cannot ignore yourself.");
+            return;
+        }
+
+        if (ignoreManager.toggleIgnore(playerRef.getUuid(), targetUuid, resolvedName)) {
+            Msg.success(context, "You are now ignoring " + resolvedName + ".");
+        } else {
+            Msg.success(context, "You are no longer ignoring " + resolvedName + ".");
+        }
+    }
+
+    // /ignore <player>
+    private static class IgnorePlayerCommand extends AbstractPlayerCommand {
+        private final IgnoreManager ignoreManager;
+        private final StorageManager storageManager;
+        private final OnlinePlayerManager onlinePlayerManager;
+        private final RequiredArg<String> playerArg;
+
+        IgnorePlayerCommand(@Nonnull IgnoreManager ignoreManager, @Nonnull StorageManager storageManager,
+                            @Nonnull OnlinePlayerManager onlinePlayerManager) {
+            super("Toggle ignoring a player");
+            this.ignoreManager = ignoreManager;
+            this.storageManager = storageManager;
+            this.onlinePlayerManager = onlinePlayerManager;
+            this.playerArg = withRequiredArg("player", "Player to ignore or un-ignore", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doIgnore(context, playerRef, context.get(playerArg), ignoreManager, storageManager, onlinePlayerManager);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.gui.KitPage;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.util.Msg;
 
@@ -22,10 +23,12 @@ import javax.annotation.Nonnull;
  */
 public class KitCommand extends AbstractPlayerCommand {
     private final KitManager kitManager;
+    private final CooldownManager cooldownManager;
 
-    public KitCommand(@Nonnull KitManager kitManager) {
+    public KitCommand(@Nonnull KitManager kitManager, @Nonnull CooldownManager cooldownManager) {
         super("kit", "Open the kit selection menu");
         this.kitManager = kitManager;
+        this.cooldownManager = cooldownManager;
 
         requirePermission("essentials.kit");
         
@@ -45,7 +48,7 @@ public class KitCommand extends AbstractPlayerCommand {
         }
 
         // Create and open the kit selection page
-        KitPage kitPage = new KitPage(playerRef, kitManager);
+        KitPage kitPage = new KitPage(playerRef, kitManager, cooldownManager);
         player.getPageManager().openCustomPage(ref, store, kitPage);
     }
 }
@@ -2,39 +2,48 @@ package com.nhulston.essentials.commands.list;
 
 import com.hypixel.hytale.server.core.command.system.AbstractCommand;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
-import com.nhulston.essentials.util.Msg;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.nhulston.essentials.managers.RosterManager;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
- * Command to list all online players.
- * Usage: /list
+ * Command to list all online players, grouped by rank.
+ * Usage: /list [page]
  */
 public class ListCommand extends AbstractCommand {
+    private final RosterManager rosterManager;
 
-    public ListCommand() {
+    public ListCommand(@Nonnull RosterManager rosterManager) {
         super("list", "List all online players");
+        this.rosterManager = rosterManager;
         requirePermission("essentials.list");
+        addUsageVariant(new ListPageCommand(rosterManager));
     }
 
     @Override
     protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
-        List<PlayerRef> players = Universe.get().getPlayers();
-        
-        String playerNames = players.stream()
-                .map(PlayerRef::getUsername)
-                .collect(Collectors.joining(", "));
-        
-        if (playerNames.isEmpty()) {
-            playerNames = "None";
-        }
-        
-        Msg.prefix(context, "Players", playerNames);
+        context.sendMessage(rosterManager.getPage(0));
         return CompletableFuture.completedFuture(null);
     }
+
+    // /list <page>
+    private static class ListPageCommand extends AbstractCommand {
+        private final RosterManager rosterManager;
+        private final RequiredArg<Integer> pageArg;
+
+        ListPageCommand(@Nonnull RosterManager rosterManager) {
+            super("List online players on a given page");
+            this.rosterManager = rosterManager;
+            this.pageArg = withRequiredArg("page", "Page number", ArgTypes.INTEGER);
+        }
+
+        @Override
+        protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+            context.sendMessage(rosterManager.getPage(context.get(pageArg) - 1));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
 }
@@ -8,28 +8,29 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MessageManager;
+import com.nhulston.essentials.managers.OnlinePlayerManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Command to send a private message to another player.
+ * Messages to offline players are kept as mail and delivered when they join.
  * Usage: /msg <player> <message>
  * Aliases: /m, /message, /whisper, /pm
  */
 public class MsgCommand extends AbstractPlayerCommand {
-    // Track last conversation partner for /reply
-    private static final Map<UUID, UUID> lastMessagePartner = new ConcurrentHashMap<>();
+    private final MessageManager messageManager;
+    private final OnlinePlayerManager onlinePlayerManager;
 
-    public MsgCommand() {
+    public MsgCommand(@Nonnull MessageManager messageManager, @Nonnull OnlinePlayerManager onlinePlayerManager) {
         // Don't register any args - we'll parse everything from raw input
         // This allows multi-word messages without quotes
         super("msg", "Send a private message to a player");
+        this.messageManager = messageManager;
+        this.onlinePlayerManager = onlinePlayerManager;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -53,68 +54,36 @@ public class MsgCommand extends AbstractPlayerCommand {
         String targetName = parts[1];
         String message = parts[2];
 
-        // Find target player by name
-        PlayerRef target = findPlayer(targetName);
-        
+        // Exact online name first, then an exact offline name (mail), and only then a partial
+        // online name, so a partial match never steals mail meant for an offline player
+        PlayerRef target = onlinePlayerManager.getPlayer(targetName);
+        if (target == null) {
+            UUID knownUuid = messageManager.getKnownPlayer(targetName);
+            if (knownUuid != null) {
+                // Online under a new name, or offline
+                target = Universe.get().getPlayer(knownUuid);
+                if (target == null) {
+                    if (knownUuid.equals(playerRef.getUuid())) {
+                        Msg.fail(context, "You cannot message yourself.");
+                        return;
+                    }
+                    // Offline players who have joined before get the message as mail
+                    messageManager.sendMail(playerRef, knownUuid, targetName, message);
+                    return;
+                }
+            } else {
+                target = onlinePlayerManager.findPlayer(targetName);
+            }
+        }
+
         if (target == null) {
             Msg.fail(context, "Player '" + targetName + "' not found.");
             return;
         }
-
         if (target.getUuid().equals(playerRef.getUuid())) {
             Msg.fail(context, "You cannot message yourself.");
             return;
         }
-
-        sendMessage(playerRef, target, message, context);
-    }
-
-    /**
-     * Send a private message and track for /reply.
-     */
-    public static void sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, 
-                                   @Nonnull String message, @Nullable CommandContext context) {
-        // Send to target: [From PlayerName] message
-        Msg.info(target, "[From " + sender.getUsername() + "] " + message);
-        
-        // Confirm to sender: [To PlayerName] message
-        if (context != null) {
-            Msg.info(context, "[To " + target.getUsername() + "] " + message);
-        } else {
-            Msg.info(sender, "[To " + target.getUsername() + "] " + message);
-        }
-
-        // Track last message partner for both players (for /reply)
-        lastMessagePartner.put(sender.getUuid(), target.getUuid());
-        lastMessagePartner.put(target.getUuid(), sender.getUuid());
-    }
-
-    /**
-     * Get the last message partner for a player.
-     */
-    @Nullable
-    public static UUID getLastMessagePartner(@Nonnull UUID playerUuid) {
-        return lastMessagePartner.get(playerUuid);
-    }
-
-    /**
-     * Find a player by name (case-insensitive).
-     */
-    @Nullable
-    public static PlayerRef findPlayer(String name) {
-        List<PlayerRef> players = Universe.get().getPlayers();
-        for (PlayerRef player : players) {
-            if (player.getUsername().equalsIgnoreCase(name)) {
-                return player;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Remove player from tracking when they disconnect.
-     */
-    public static void onPlayerQuit(UUID uuid) {
-        lastMessagePartner.remove(uuid);
+        messageManager.sendMessage(playerRef, target, message);
     }
 }
@@ -8,20 +8,23 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MessageManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
-import java.util.UUID;
 
 /**
  * Command to reply to the last person who messaged you.
+ * If they have gone offline, the reply is kept as mail.
  * Usage: /r <message>
  * Aliases: /reply
  */
 public class ReplyCommand extends AbstractPlayerCommand {
+    private final MessageManager messageManager;
 
-    public ReplyCommand() {
+    public ReplyCommand(@Nonnull MessageManager messageManager) {
         super("r", "Reply to your last message");
+        this.messageManager = messageManager;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -45,19 +48,19 @@ public class ReplyCommand extends AbstractPlayerCommand {
         String message = parts[1];
 
         // Get last message partner
-        UUID targetUuid = MsgCommand.getLastMessagePartner(playerRef.getUuid());
-        if (targetUuid == null) {
+        MessageManager.Conversation conversation = messageManager.getConversation(playerRef.getUuid());
+        if (conversation == null) {
             Msg.fail(context, "You have no one to reply to.");
             return;
         }
 
         // Find target player
-        PlayerRef target = Universe.get().getPlayer(targetUuid);
+        PlayerRef target = Universe.get().getPlayer(conversation.partnerUuid());
         if (target == null) {
-            Msg.fail(context, "That player is no longer online.");
+            messageManager.sendMail(playerRef, conversation.partnerUuid(), conversation.partnerName(), message);
             return;
         }
 
-        MsgCommand.sendMessage(playerRef, target, message, context);
+        messageManager.sendMessage(playerRef, target, message);
     }
 }
@@ -12,12 +12,11 @@ import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.SoundUtil;
-import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
 import java.util.UUID;
@@ -31,12 +30,14 @@ public class RepairCommand extends AbstractPlayerCommand {
     private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.repair.cooldown.bypass";
 
     private final ConfigManager configManager;
-    private final StorageManager storageManager;
+    private final CooldownManager cooldownManager;
+    private final int cooldownId;
 
-    public RepairCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager) {
+    public RepairCommand(@Nonnull ConfigManager configManager, @Nonnull CooldownManager cooldownManager) {
         super("repair", "Repair the item in your hand");
         this.configManager = configManager;
-        this.storageManager = storageManager;
+        this.cooldownManager = cooldownManager;
+        this.cooldownId = cooldownManager.register(CooldownManager.REPAIR);
 
         addAliases("fix");
         requirePermission("essentials.repair");
@@ -46,21 +47,12 @@ public class RepairCommand extends AbstractPlayerCommand {
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         UUID playerUuid = playerRef.getUuid();
-        PlayerData data = storageManager.getPlayerData(playerUuid);
 
         // Check cooldown (skip if player has bypass permission)
-        int cooldownSeconds = configManager.getRepairCooldown();
-        boolean bypassCooldown = PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION);
-        if (cooldownSeconds > 0 && !bypassCooldown) {
-            Long lastUse = data.getLastRepairTime();
-            if (lastUse != null) {
-                long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
-                long remaining = cooldownSeconds - elapsed;
-                if (remaining > 0) {
-                    Msg.fail(context, "Repair is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
-                    return;
-                }
-            }
+        long remaining = cooldownManager.getRemaining(playerUuid, cooldownId, configManager.getRepairCooldown());
+        if (remaining > 0 && !PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION)) {
+            Msg.fail(context, "Repair is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
+            return;
         }
 
         Player player = store.getComponent(ref, Player.getComponentType());
@@ -94,8 +86,7 @@ public class RepairCommand extends AbstractPlayerCommand {
         }
 
         // Set cooldown before repair
-        data.setLastRepairTime(System.currentTimeMillis());
-        storageManager.savePlayerData(playerUuid);
+        cooldownManager.start(playerUuid, cooldownId, configManager.getRepairCooldown());
 
         // Create repaired item and replace in hotbar
         ItemStack repairedItem = heldItem.withDurability(maxDurability);
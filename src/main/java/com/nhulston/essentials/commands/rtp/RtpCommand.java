@@ -10,12 +10,11 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.TeleportManager;
-import com.nhulston.essentials.models.PlayerData;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
-import com.nhulston.essentials.util.StorageManager;
 import com.nhulston.essentials.util.TeleportUtil;
 
 import javax.annotation.Nonnull;
@@ -32,15 +31,17 @@ public class RtpCommand extends AbstractPlayerCommand {
     private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.rtp.cooldown.bypass";
 
     private final ConfigManager configManager;
-    private final StorageManager storageManager;
+    private final CooldownManager cooldownManager;
     private final TeleportManager teleportManager;
+    private final int cooldownId;
 
-    public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
+    public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull CooldownManager cooldownManager,
                       @Nonnull TeleportManager teleportManager) {
         super("rtp", "Randomly teleport to a location");
         this.configManager = configManager;
-        this.storageManager = storageManager;
+        this.cooldownManager = cooldownManager;
         this.teleportManager = teleportManager;
+        this.cooldownId = cooldownManager.register(CooldownManager.RTP);
 
         requirePermission("essentials.rtp");
     }
@@ -49,21 +50,12 @@ public class RtpCommand extends AbstractPlayerCommand {
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         UUID playerUuid = playerRef.getUuid();
-        PlayerData data = storageManager.getPlayerData(playerUuid);
 
         // Check cooldown (skip if player has bypass permission)
-        int cooldownSeconds = configManager.getRtpCooldown();
-        boolean bypassCooldown = PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION);
-        if (cooldownSeconds > 0 && !bypassCooldown) {
-            Long lastUse = data.getLastRtpTime();
-            if (lastUse != null) {
-                long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
-                long remaining = cooldownSeconds - elapsed;
-                if (remaining > 0) {
-                    Msg.fail(context, "RTP is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
-                    return;
-                }
-            }
+        long remaining = cooldownManager.getRemaining(playerUuid, cooldownId, configManager.getRtpCooldown());
+        if (remaining > 0 && !PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION)) {
+            Msg.fail(context, "RTP is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
+            return;
         }
 
         // Determine which world to RTP in
@@ -113,10 +105,7 @@ public class RtpCommand extends AbstractPlayerCommand {
                                 rtpWorldName, result.x, result.y, result.z,
                             0.0f, 0.0f,
                             "Randomly teleported!",
-                            () -> {
-                                data.setLastRtpTime(System.currentTimeMillis());
-                                storageManager.savePlayerData(playerUuid);
-                            }
+                            () -> startCooldown(playerUuid)
                         );
                     });
                 })
@@ -126,16 +115,20 @@ public class RtpCommand extends AbstractPlayerCommand {
                 });
         } else {
             // Same-world RTP - use sync chunk access
-            findSafeLocationSync(rtpWorld, radius, playerRef, ref, store, rtpWorldName, data, playerUuid);
+            findSafeLocationSync(rtpWorld, radius, playerRef, ref, store, rtpWorldName, playerUuid);
         }
     }
 
+    private void startCooldown(@Nonnull UUID playerUuid) {
+        cooldownManager.start(playerUuid, cooldownId, configManager.getRtpCooldown());
+    }
+
     /**
      * Synchronously finds a safe RTP location (for same-world teleports).
      */
     private void findSafeLocationSync(World rtpWorld, int radius, PlayerRef playerRef, 
                                        Ref<EntityStore> ref, Store<EntityStore> store,
-                                       String rtpWorldName, PlayerData data, UUID playerUuid) {
+                                       String rtpWorldName, UUID playerUuid) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         
         for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
@@ -152,10 +145,7 @@ public class RtpCommand extends AbstractPlayerCommand {
                     rtpWorldName, x, safeY, z,
                     0.0f, 0.0f,
                     "Randomly teleported!",
-                    () -> {
-                        data.setLastRtpTime(System.currentTimeMillis());
-                        storageManager.savePlayerData(playerUuid);
-                    }
+                    () -> startCooldown(playerUuid)
                 );
                 return;
             }
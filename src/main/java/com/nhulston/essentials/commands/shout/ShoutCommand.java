@@ -5,9 +5,9 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.BroadcastManager;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Msg;
@@ -21,10 +21,12 @@ import javax.annotation.Nonnull;
  */
 public class ShoutCommand extends AbstractPlayerCommand {
     private final ConfigManager configManager;
+    private final BroadcastManager broadcastManager;
 
-    public ShoutCommand(@Nonnull ConfigManager configManager) {
+    public ShoutCommand(@Nonnull ConfigManager configManager, @Nonnull BroadcastManager broadcastManager) {
         super("shout", "Broadcast a message to all players");
         this.configManager = configManager;
+        this.broadcastManager = broadcastManager;
 
         addAliases("broadcast");
         requirePermission("essentials.shout");
@@ -46,6 +48,6 @@ public class ShoutCommand extends AbstractPlayerCommand {
         }
         
         String message = configManager.getShoutPrefix() + parts[1];
-        Universe.get().sendMessage(ColorUtil.colorize(message));
+        broadcastManager.broadcast(ColorUtil.colorize(message));
     }
 }
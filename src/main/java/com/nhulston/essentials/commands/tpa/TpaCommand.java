@@ -46,18 +46,42 @@ public class TpaCommand extends AbstractPlayerCommand {
             return;
         }
 
-        boolean created = tpaManager.createRequest(playerRef, target);
-        if (!created) {
-            Msg.fail(context, "You already have a pending teleport request to " + target.getUsername() + ".");
-            return;
+        sendRequest(context, tpaManager, playerRef, target, TpaManager.Type.TPA);
+    }
+
+    /**
+     * Creates a request and tells both players about it.
+     */
+    static void sendRequest(@Nonnull CommandContext context, @Nonnull TpaManager tpaManager,
+                            @Nonnull PlayerRef requester, @Nonnull PlayerRef target, @Nonnull TpaManager.Type type) {
+        switch (tpaManager.createRequest(requester, target, type)) {
+            case ALREADY_PENDING -> Msg.fail(context,
+                    "You already have a pending teleport request to " + target.getUsername() + ".");
+            case DISABLED -> Msg.fail(context, target.getUsername() + " is not accepting teleport requests.");
+            case AUTO_ACCEPTED -> Msg.success(context, target.getUsername() + " accepted your teleport request.");
+            case AUTO_ACCEPT_FAILED -> Msg.fail(context,
+                    "Could not teleport to " + target.getUsername() + ". They may have gone offline.");
+            case CREATED -> {
+                // Notify the requester
+                Msg.success(context, "Teleport request sent to " + target.getUsername() + ".");
+
+                // Notify the target
+                SoundUtil.playSound(target, "SFX_Alchemy_Bench_Close");
+                Msg.info(target, describeRequest(requester.getUsername(), type));
+                Msg.info(target, acceptHint(requester.getUsername()));
+            }
         }
+    }
 
-        // Notify the requester
-        Msg.success(context, "Teleport request sent to " + target.getUsername() + ".");
+    @Nonnull
+    static String describeRequest(@Nonnull String requesterName, @Nonnull TpaManager.Type type) {
+        return type == TpaManager.Type.TPA
+                ? requesterName + " has requested to teleport to you."
+                : requesterName + " has requested that you teleport to them.";
+    }
 
-        // Notify the target
-        SoundUtil.playSound(target, "SFX_Alchemy_Bench_Close");
-        Msg.info(target, playerRef.getUsername() + " has requested to teleport to you.");
-        Msg.info(target, "Type '/tpaccept " + playerRef.getUsername() + "' to accept.");
+    @Nonnull
+    static String acceptHint(@Nonnull String requesterName) {
+        return "Type '/tpaccept " + requesterName + "' to accept or '/tpdeny " + requesterName + "' to deny.";
     }
 }
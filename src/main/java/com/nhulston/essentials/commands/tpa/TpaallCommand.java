@@ -0,0 +1,68 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.BroadcastManager;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Command to ask every online player to teleport to you.
+ * Requests are created in one pass and the notification is sent through the broadcast manager.
+ * Usage: /tpaall
+ */
+public class TpaallCommand extends AbstractPlayerCommand {
+    private static final String INFO_COLOR = "#FFFF55";
+
+    private final TpaManager tpaManager;
+    private final BroadcastManager broadcastManager;
+
+    public TpaallCommand(@Nonnull TpaManager tpaManager, @Nonnull BroadcastManager broadcastManager) {
+        super("tpaall", "Request all players to teleport to you");
+        this.tpaManager = tpaManager;
+        this.broadcastManager = broadcastManager;
+
+        requirePermission("essentials.tpaall");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<PlayerRef> players = List.copyOf(Universe.get().getPlayers());
+        TpaManager.BatchResult result = tpaManager.createRequests(playerRef, players, TpaManager.Type.TPAHERE);
+
+        if (!result.pending().isEmpty()) {
+            Set<UUID> recipients = new HashSet<>();
+            for (PlayerRef target : result.pending()) {
+                recipients.add(target.getUuid());
+            }
+            String requesterName = playerRef.getUsername();
+            broadcastManager.broadcast(Message.join(
+                    Message.raw(TpaCommand.describeRequest(requesterName, TpaManager.Type.TPAHERE) + "\n")
+                            .color(INFO_COLOR),
+                    Message.raw(TpaCommand.acceptHint(requesterName)).color(INFO_COLOR)
+            ), player -> recipients.contains(player.getUuid()));
+        }
+
+        int sent = result.pending().size() + result.autoAccepted();
+        if (sent == 0) {
+            Msg.fail(context, "No players could be sent a teleport request.");
+            return;
+        }
+        Msg.success(context, "Teleport request sent to " + sent + (sent == 1 ? " player" : " players")
+                + (result.skipped() > 0 ? " (" + result.skipped() + " skipped)." : "."));
+    }
+}
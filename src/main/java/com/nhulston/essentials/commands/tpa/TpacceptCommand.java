@@ -2,7 +2,6 @@ package com.nhulston.essentials.commands.tpa;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
@@ -11,66 +10,71 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Command to accept a teleport request from another player.
- * Usage: /tpaccept <player>
+ * Usage: /tpaccept - Accept the most recent request
+ * Usage: /tpaccept <player> - Accept a request from a specific player
  */
 public class TpacceptCommand extends AbstractPlayerCommand {
     private final TpaManager tpaManager;
-    private final TeleportManager teleportManager;
-    private final RequiredArg<String> playerArg;
 
-    public TpacceptCommand(@Nonnull TpaManager tpaManager, @Nonnull TeleportManager teleportManager) {
+    public TpacceptCommand(@Nonnull TpaManager tpaManager) {
         super("tpaccept", "Accept a teleport request");
         this.tpaManager = tpaManager;
-        this.teleportManager = teleportManager;
-        this.playerArg = withRequiredArg("player", "Player whose request to accept", ArgTypes.STRING);
 
         requirePermission("essentials.tpaccept");
+        addUsageVariant(new TpacceptNamedCommand(tpaManager));
     }
 
     @Override
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-        String requesterName = context.get(playerArg);
+        // /tpaccept (no args) - accept the most recent request
+        doAccept(context, playerRef, null, tpaManager);
+    }
 
+    private static void doAccept(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                                 @Nullable String requesterName, @Nonnull TpaManager tpaManager) {
         TpaManager.TpaRequest request = tpaManager.acceptRequest(playerRef, requesterName);
         if (request == null) {
-            Msg.fail(context, "No pending teleport request from " + requesterName + ".");
+            Msg.fail(context, requesterName == null
+                    ? "You have no pending teleport requests."
+                    : "No pending teleport request from " + requesterName + ".");
             return;
         }
 
-        // Get the requester's PlayerRef
-        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
-        if (requester == null) {
-            Msg.fail(context, requesterName + " is no longer online.");
+        if (!tpaManager.completeRequest(request)) {
+            Msg.fail(context, request.getRequesterName() + " is no longer online.");
             return;
         }
 
-        // Get the requester's entity ref and store
-        Ref<EntityStore> requesterRef = requester.getReference();
-        if (requesterRef == null || !requesterRef.isValid()) {
-            Msg.fail(context, requesterName + " is no longer available.");
-            return;
+        Msg.success(context, "Teleport request from " + request.getRequesterName() + " accepted.");
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        if (requester != null) {
+            Msg.success(requester, playerRef.getUsername() + " accepted your teleport request.");
         }
-        Store<EntityStore> requesterStore = requesterRef.getStore();
+    }
+
+    private static class TpacceptNamedCommand extends AbstractPlayerCommand {
+        private final TpaManager tpaManager;
+        private final RequiredArg<String> playerArg;
 
-        // Notify the target that the request was accepted
-        Msg.success(context, "Teleport request from " + requesterName + " accepted.");
+        TpacceptNamedCommand(@Nonnull TpaManager tpaManager) {
+            super("Accept a teleport request from a specific player");
+            this.tpaManager = tpaManager;
+            this.playerArg = withRequiredArg("player", "Player who sent the request", ArgTypes.STRING);
+        }
 
-        // Queue the teleport for the requester (they need to stand still)
-        Vector3d startPosition = requester.getTransform().getPosition();
-        
-        teleportManager.queueTeleportToPlayer(
-            requester, requesterRef, requesterStore, startPosition,
-            playerRef,  // target player
-            "Teleported to " + playerRef.getUsername() + "."
-        );
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doAccept(context, playerRef, context.get(playerArg), tpaManager);
+        }
     }
 }
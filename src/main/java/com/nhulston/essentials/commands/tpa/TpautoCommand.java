@@ -0,0 +1,44 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command to toggle automatically accepting teleport requests.
+ * When enabled, requests start the teleport right away without /tpaccept.
+ * Usage: /tpauto
+ */
+public class TpautoCommand extends AbstractPlayerCommand {
+    private final StorageManager storageManager;
+
+    public TpautoCommand(@Nonnull StorageManager storageManager) {
+        super("tpauto", "Toggle automatically accepting teleport requests");
+        this.storageManager = storageManager;
+
+        addAliases("tpaauto");
+        requirePermission("essentials.tpauto");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        PlayerData data = storageManager.getPlayerData(playerRef.getUuid());
+        boolean enabled = !data.isTpaAutoAccept();
+        data.setTpaAutoAccept(enabled);
+        storageManager.savePlayerData(playerRef.getUuid());
+
+        Msg.success(context, enabled
+                ? "Requests to teleport to you will now be accepted automatically."
+                : "Teleport requests will no longer be accepted automatically.");
+    }
+}
@@ -0,0 +1,82 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Command to cancel teleport requests you have sent.
+ * Usage: /tpcancel - Cancel all of your requests
+ * Usage: /tpcancel <player> - Cancel your request to a specific player
+ */
+public class TpcancelCommand extends AbstractPlayerCommand {
+    private final TpaManager tpaManager;
+
+    public TpcancelCommand(@Nonnull TpaManager tpaManager) {
+        super("tpcancel", "Cancel your teleport requests");
+        this.tpaManager = tpaManager;
+
+        addAliases("tpacancel");
+        requirePermission("essentials.tpa");
+        addUsageVariant(new TpcancelNamedCommand(tpaManager));
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        // /tpcancel (no args) - cancel every request
+        List<TpaManager.TpaRequest> cancelled = tpaManager.cancelAllRequests(playerRef);
+        if (cancelled.isEmpty()) {
+            Msg.fail(context, "You have no pending teleport requests.");
+            return;
+        }
+        for (TpaManager.TpaRequest request : cancelled) {
+            notifyTarget(request, playerRef);
+        }
+        Msg.success(context, "Cancelled " + cancelled.size()
+                + (cancelled.size() == 1 ? " teleport request." : " teleport requests."));
+    }
+
+    private static void notifyTarget(@Nonnull TpaManager.TpaRequest request, @Nonnull PlayerRef requester) {
+        PlayerRef target = Universe.get().getPlayer(request.getTargetUuid());
+        if (target != null) {
+            Msg.info(target, requester.getUsername() + " cancelled their teleport request.");
+        }
+    }
+
+    private static class TpcancelNamedCommand extends AbstractPlayerCommand {
+        private final TpaManager tpaManager;
+        private final RequiredArg<String> playerArg;
+
+        TpcancelNamedCommand(@Nonnull TpaManager tpaManager) {
+            super("Cancel your teleport request to a specific player");
+            this.tpaManager = tpaManager;
+            this.playerArg = withRequiredArg("player", "Player you sent the request to", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String targetName = context.get(playerArg);
+            TpaManager.TpaRequest request = tpaManager.cancelRequest(playerRef, targetName);
+            if (request == null) {
+                Msg.fail(context, "You have no pending teleport request to " + targetName + ".");
+                return;
+            }
+            notifyTarget(request, playerRef);
+            Msg.success(context, "Teleport request to " + request.getTargetName() + " cancelled.");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Command to deny a teleport request.
+ * Usage: /tpdeny - Deny the most recent request
+ * Usage: /tpdeny <player> - Deny a request from a specific player
+ */
+public class TpdenyCommand extends AbstractPlayerCommand {
+    private final TpaManager tpaManager;
+
+    public TpdenyCommand(@Nonnull TpaManager tpaManager) {
+        super("tpdeny", "Deny a teleport request");
+        this.tpaManager = tpaManager;
+
+        addAliases("tpadeny");
+        requirePermission("essentials.tpaccept");
+        addUsageVariant(new TpdenyNamedCommand(tpaManager));
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        // /tpdeny (no args) - deny the most recent request
+        doDeny(context, playerRef, null, tpaManager);
+    }
+
+    private static void doDeny(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                               @Nullable String requesterName, @Nonnull TpaManager tpaManager) {
+        TpaManager.TpaRequest request = tpaManager.denyRequest(playerRef, requesterName);
+        if (request == null) {
+            Msg.fail(context, requesterName == null
+                    ? "You have no pending teleport requests."
+                    : "No pending teleport request from " + requesterName + ".");
+            return;
+        }
+
+        Msg.success(context, "Teleport request from " + request.getRequesterName() + " denied.");
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        if (requester != null) {
+            Msg.fail(requester, playerRef.getUsername() + " denied your teleport request.");
+        }
+    }
+
+    private static class TpdenyNamedCommand extends AbstractPlayerCommand {
+        private final TpaManager tpaManager;
+        private final RequiredArg<String> playerArg;
+
+        TpdenyNamedCommand(@Nonnull TpaManager tpaManager) {
+            super("Deny a teleport request from a specific player");
+            this.tpaManager = tpaManager;
+            this.playerArg = withRequiredArg("player", "Player who sent the request", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doDeny(context, playerRef, context.get(playerArg), tpaManager);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command to toggle whether other players can send you teleport requests.
+ * Usage: /tptoggle
+ */
+public class TptoggleCommand extends AbstractPlayerCommand {
+    private final StorageManager storageManager;
+
+    public TptoggleCommand(@Nonnull StorageManager storageManager) {
+        super("tptoggle", "Toggle receiving teleport requests");
+        this.storageManager = storageManager;
+
+        addAliases("tpatoggle");
+        requirePermission("essentials.tptoggle");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        PlayerData data = storageManager.getPlayerData(playerRef.getUuid());
+        boolean disabled = !data.isTpaDisabled();
+        data.setTpaDisabled(disabled);
+        storageManager.savePlayerData(playerRef.getUuid());
+
+        Msg.success(context, disabled
+                ? "You are no longer accepting teleport requests."
+                : "You are now accepting teleport requests.");
+    }
+}
@@ -17,7 +17,13 @@ import com.nhulston.essentials.managers.WarpManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+/**
+ * Command to set a warp at the player's position.
+ * Usage: /setwarp &lt;name&gt; [category] [restricted (true/false)]
+ * Restricted warps also need essentials.warp.&lt;name&gt; to use.
+ */
 public class SetWarpCommand extends AbstractPlayerCommand {
     private final WarpManager warpManager;
     private final RequiredArg<String> nameArg;
@@ -28,13 +34,20 @@ public class SetWarpCommand extends AbstractPlayerCommand {
         this.nameArg = withRequiredArg("name", "Warp name", ArgTypes.STRING);
 
         requirePermission("essentials.setwarp");
+        addUsageVariant(new SetWarpCategoryCommand(warpManager));
+        addUsageVariant(new SetWarpRestrictedCommand(warpManager));
     }
 
     @Override
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-        String warpName = context.get(nameArg);
+        doSetWarp(context, store, ref, playerRef, world, context.get(nameArg), null, false, warpManager);
+    }
 
+    private static void doSetWarp(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                                  @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world,
+                                  @Nonnull String warpName, @Nullable String category, boolean restricted,
+                                  @Nonnull WarpManager warpManager) {
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
             Msg.fail(context, "Could not get your position. Try again.");
@@ -52,7 +65,11 @@ public class SetWarpCommand extends AbstractPlayerCommand {
                 position.getY(),
                 position.getZ(),
                 rotation.getY(),
-                rotation.getX()
+                rotation.getX(),
+                category,
+                playerRef.getUuid(),
+                playerRef.getUsername(),
+                restricted
         );
 
         if (error != null) {
@@ -61,5 +78,53 @@ public class SetWarpCommand extends AbstractPlayerCommand {
         }
 
         Msg.success(context, String.format("Warp '%s' set in world %s", warpName, world.getName()));
+        if (restricted) {
+            Msg.info(context, "Players need essentials.warp." + warpName.toLowerCase() + " to use it.");
+        }
+    }
+
+    // /setwarp <name> <category>
+    private static class SetWarpCategoryCommand extends AbstractPlayerCommand {
+        private final WarpManager warpManager;
+        private final RequiredArg<String> nameArg;
+        private final RequiredArg<String> categoryArg;
+
+        SetWarpCategoryCommand(@Nonnull WarpManager warpManager) {
+            super("Set a warp location in a category");
+            this.warpManager = warpManager;
+            this.nameArg = withRequiredArg("name", "Warp name", ArgTypes.STRING);
+            this.categoryArg = withRequiredArg("category", "Warp category", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doSetWarp(context, store, ref, playerRef, world, context.get(nameArg), context.get(categoryArg),
+                    false, warpManager);
+        }
+    }
+
+    // /setwarp <name> <category> <restricted>
+    private static class SetWarpRestrictedCommand extends AbstractPlayerCommand {
+        private final WarpManager warpManager;
+        private final RequiredArg<String> nameArg;
+        private final RequiredArg<String> categoryArg;
+        private final RequiredArg<Boolean> restrictedArg;
+
+        SetWarpRestrictedCommand(@Nonnull WarpManager warpManager) {
+            super("Set a warp location in a category, optionally restricted");
+            this.warpManager = warpManager;
+            this.nameArg = withRequiredArg("name", "Warp name", ArgTypes.STRING);
+            this.categoryArg = withRequiredArg("category", "Warp category", ArgTypes.STRING);
+            this.restrictedArg = withRequiredArg("restricted",
+                    "Whether the warp needs essentials.warp.<name>", ArgTypes.BOOLEAN);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            doSetWarp(context, store, ref, playerRef, world, context.get(nameArg), context.get(categoryArg),
+                    context.get(restrictedArg), warpManager);
+        }
     }
 }
@@ -7,23 +7,26 @@ import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.gui.WarpPage;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.WarpManager;
 import com.nhulston.essentials.models.Warp;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
 
 public class WarpCommand extends AbstractPlayerCommand {
     private final WarpManager warpManager;
+    private final TeleportManager teleportManager;
 
     public WarpCommand(@Nonnull WarpManager warpManager, @Nonnull TeleportManager teleportManager) {
         super("warp", "Teleport to a warp");
         this.warpManager = warpManager;
+        this.teleportManager = teleportManager;
 
         requirePermission("essentials.warp");
         addUsageVariant(new WarpNamedCommand(warpManager, teleportManager));
@@ -32,15 +35,20 @@ public class WarpCommand extends AbstractPlayerCommand {
     @Override
     protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                            @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-        // /warp (no args) - list all warps
-        Map<String, Warp> warps = warpManager.getWarps();
-
-        if (warps.isEmpty()) {
+        // /warp (no args) - browse warps
+        if (warpManager.getIndex().isEmpty()) {
             Msg.fail(context, "No warps have been set.");
             return;
         }
 
-        Msg.prefix(context, "Warps", String.join(", ", warps.keySet()));
+        Player player = store.getComponent(ref, Player.getComponentType());
+        if (player == null) {
+            Msg.fail(context, "Could not get player component.");
+            return;
+        }
+
+        WarpPage warpPage = new WarpPage(playerRef, warpManager, teleportManager);
+        player.getPageManager().openCustomPage(ref, store, warpPage);
     }
 
     private static class WarpNamedCommand extends AbstractPlayerCommand {
@@ -59,12 +67,17 @@ public class WarpCommand extends AbstractPlayerCommand {
         protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                                @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
             String warpName = context.get(nameArg);
-            Warp warp = warpManager.getWarp(warpName);
+            WarpManager.Entry entry = warpManager.getEntry(warpName);
 
-            if (warp == null) {
+            if (entry == null) {
                 Msg.fail(context, "Warp '" + warpName + "' not found.");
                 return;
             }
+            if (!warpManager.canUse(playerRef.getUuid(), entry)) {
+                Msg.fail(context, "You don't have permission to use this warp.");
+                return;
+            }
+            Warp warp = entry.warp();
 
             Vector3d startPosition = playerRef.getTransform().getPosition();
 
@@ -13,6 +13,8 @@ import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MessageThrottleManager;
+import com.nhulston.essentials.managers.MessageThrottleManager.ThrottledMessage;
 import com.nhulston.essentials.util.ConfigManager;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,14 +27,18 @@ public class BuildProtectionEvent {
     private static final String PROTECTED_COLOR = "#FF5555";
 
     private final ConfigManager configManager;
+    private final ThrottledMessage protectedMessage;
 
-    public BuildProtectionEvent(@Nonnull ConfigManager configManager) {
+    public BuildProtectionEvent(@Nonnull ConfigManager configManager,
+                                @Nonnull MessageThrottleManager throttleManager) {
         this.configManager = configManager;
+        this.protectedMessage = throttleManager.register("build.disabled",
+                Message.raw(PROTECTED_MESSAGE).color(PROTECTED_COLOR));
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
-        registry.registerSystem(new BreakBlockProtectionSystem(configManager));
-        registry.registerSystem(new PlaceBlockProtectionSystem(configManager));
+        registry.registerSystem(new BreakBlockProtectionSystem(configManager, protectedMessage));
+        registry.registerSystem(new PlaceBlockProtectionSystem(configManager, protectedMessage));
         registry.registerSystem(new DamageBlockProtectionSystem(configManager));
     }
 
@@ -40,12 +46,6 @@ public class BuildProtectionEvent {
         return PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION);
     }
 
-    private static void sendProtectedMessage(PlayerRef playerRef) {
-        if (playerRef != null) {
-            playerRef.sendMessage(Message.raw(PROTECTED_MESSAGE).color(PROTECTED_COLOR));
-        }
-    }
-
     /**
      * Prevents block breaking globally.
      */
@@ -53,10 +53,12 @@ public class BuildProtectionEvent {
             extends EntityEventSystem<EntityStore, BreakBlockEvent> {
 
         private final ConfigManager configManager;
+        private final ThrottledMessage protectedMessage;
 
-        BreakBlockProtectionSystem(ConfigManager configManager) {
+        BreakBlockProtectionSystem(ConfigManager configManager, ThrottledMessage protectedMessage) {
             super(BreakBlockEvent.class);
             this.configManager = configManager;
+            this.protectedMessage = protectedMessage;
         }
 
         @Override
@@ -79,7 +81,7 @@ public class BuildProtectionEvent {
             }
 
             event.setCancelled(true);
-            sendProtectedMessage(playerRef);
+            protectedMessage.send(playerRef);
         }
     }
 
@@ -90,10 +92,12 @@ public class BuildProtectionEvent {
             extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
 
         private final ConfigManager configManager;
+        private final ThrottledMessage protectedMessage;
 
-        PlaceBlockProtectionSystem(ConfigManager configManager) {
+        PlaceBlockProtectionSystem(ConfigManager configManager, ThrottledMessage protectedMessage) {
             super(PlaceBlockEvent.class);
             this.configManager = configManager;
+            this.protectedMessage = protectedMessage;
         }
 
         @Override
@@ -116,7 +120,7 @@ public class BuildProtectionEvent {
             }
 
             event.setCancelled(true);
-            sendProtectedMessage(playerRef);
+            protectedMessage.send(playerRef);
         }
     }
 
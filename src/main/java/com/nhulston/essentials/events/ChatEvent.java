@@ -1,26 +1,74 @@
 package com.nhulston.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.AntiSpamManager;
+import com.nhulston.essentials.managers.BroadcastManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.IgnoreManager;
 
 import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Essentials chat stage: drops spam, filters recipients (ignore lists) and formats the message.
+ * Runs on the async chat pipeline, so none of this work happens on a world thread.
+ */
 public class ChatEvent {
     private final ChatManager chatManager;
+    private final IgnoreManager ignoreManager;
+    private final BroadcastManager broadcastManager;
+    private final AntiSpamManager antiSpamManager;
 
-    public ChatEvent(@Nonnull ChatManager chatManager) {
+    public ChatEvent(@Nonnull ChatManager chatManager, @Nonnull IgnoreManager ignoreManager,
+                     @Nonnull BroadcastManager broadcastManager, @Nonnull AntiSpamManager antiSpamManager) {
         this.chatManager = chatManager;
+        this.ignoreManager = ignoreManager;
+        this.broadcastManager = broadcastManager;
+        this.antiSpamManager = antiSpamManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.<String, PlayerChatEvent>registerAsyncGlobal(PlayerChatEvent.class, future ->
                 future.thenApply(event -> {
+                    if (event.isCancelled()) {
+                        return event;
+                    }
+                    PlayerRef sender = event.getSender();
+
+                    // Drop spam before any filtering or formatting work is done for it
+                    if (!antiSpamManager.allowMessage(sender, event.getContent())) {
+                        event.setCancelled(true);
+                        return event;
+                    }
+
+                    // Drop recipients who ignore the sender
+                    List<PlayerRef> targets = event.getTargets();
+                    List<PlayerRef> filtered = ignoreManager.filterRecipients(sender.getUuid(), targets);
+                    if (filtered != targets) {
+                        event.setTargets(filtered);
+                    }
+                    broadcastManager.recordChat(filtered.size(), targets.size() - filtered.size());
+
                     if (chatManager.isEnabled()) {
-                        event.setFormatter(chatManager.createFormatter());
+                        // Build the line once; the formatter is called for every recipient
+                        Message formatted = chatManager.formatMessage(sender, event.getContent());
+                        event.setFormatter((_, _) -> formatted);
                     }
                     return event;
                 })
         );
+
+        // Resolve the player's format and index their ignore list on join
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            UUID playerUuid = event.getPlayerRef().getUuid();
+            ignoreManager.onPlayerJoin(playerUuid);
+            // Always tracked, so turning chat formatting on with a reload finds online players cached
+            chatManager.onPlayerJoin(playerUuid);
+        });
     }
 }
@@ -77,7 +77,8 @@ public class DeathLocationEvent {
             World world = entityStore.getWorld();
             String worldName = world.getName();
 
-            backManager.setDeathLocation(
+            // Copies the values into the player's history, so nothing is allocated here
+            backManager.recordDeath(
                 playerRef.getUuid(),
                 worldName,
                 position.getX(),
@@ -97,7 +98,7 @@ public class DeathLocationEvent {
         @Override
         public void onComponentRemoved(@NotNull Ref<EntityStore> ref, @NotNull DeathComponent component,
                                        @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            // Do nothing when player respawns - we keep the death location
+            // Do nothing when player respawns - the death location stays in their history
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MessageManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Delivers offline mail once a player is in the world.
+ */
+public class MailEvent {
+    private final MessageManager messageManager;
+
+    public MailEvent(@Nonnull MessageManager messageManager) {
+        this.messageManager = messageManager;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerReadyEvent.class, event -> {
+            Ref<EntityStore> ref = event.getPlayerRef();
+            if (!ref.isValid()) {
+                return;
+            }
+
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef != null) {
+                messageManager.onPlayerJoin(playerRef);
+            }
+        });
+    }
+}
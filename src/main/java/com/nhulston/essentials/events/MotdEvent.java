@@ -38,21 +38,10 @@ public class MotdEvent {
                 return;
             }
 
-            String message = configManager.getMotdMessage();
+            // Lines are split and cleaned once when the config loads
             String playerName = playerRef.getUsername();
-            
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
-            
-            // Normalize line endings (remove \r from Windows line endings)
-            message = message.replace("\r", "");
-            
-            // Split by newlines and send each line
-            String[] lines = message.split("\n");
-            for (String line : lines) {
-                if (!line.trim().isEmpty()) {
-                    playerRef.sendMessage(ColorUtil.colorize(line));
-                }
+            for (String line : configManager.getMotdLines()) {
+                playerRef.sendMessage(ColorUtil.colorize(line.replace("%player%", playerName)));
             }
         });
     }
@@ -0,0 +1,38 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.nhulston.essentials.managers.OnlinePlayerManager;
+import com.nhulston.essentials.managers.RosterManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the online player name index and the /list roster up to date.
+ */
+public class OnlinePlayerEvent {
+    private final OnlinePlayerManager onlinePlayerManager;
+    private final RosterManager rosterManager;
+
+    public OnlinePlayerEvent(@Nonnull OnlinePlayerManager onlinePlayerManager,
+                             @Nonnull RosterManager rosterManager) {
+        this.onlinePlayerManager = onlinePlayerManager;
+        this.rosterManager = rosterManager;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            onlinePlayerManager.onPlayerConnect(event.getPlayerRef());
+            rosterManager.onPlayerConnect(event.getPlayerRef());
+        });
+        eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event -> {
+            onlinePlayerManager.onPlayerDisconnect(event.getPlayerRef());
+            rosterManager.onPlayerDisconnect(event.getPlayerRef());
+        });
+
+        // Players already online when the plugin starts
+        onlinePlayerManager.indexOnlinePlayers();
+        rosterManager.indexOnlinePlayers();
+    }
+}
@@ -3,8 +3,13 @@ package com.nhulston.essentials.events;
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
-import com.nhulston.essentials.commands.msg.MsgCommand;
+import com.nhulston.essentials.managers.AntiSpamManager;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.CooldownManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MessageManager;
+import com.nhulston.essentials.managers.MessageThrottleManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Log;
@@ -22,30 +27,55 @@ public class PlayerQuitEvent {
     private final TpaManager tpaManager;
     private final TeleportManager teleportManager;
     private final BackManager backManager;
+    private final MessageThrottleManager messageThrottleManager;
+    private final ChatManager chatManager;
+    private final IgnoreManager ignoreManager;
+    private final AntiSpamManager antiSpamManager;
+    private final MessageManager messageManager;
+    private final CooldownManager cooldownManager;
 
     public PlayerQuitEvent(@Nonnull StorageManager storageManager,
                            @Nonnull TpaManager tpaManager,
                            @Nonnull TeleportManager teleportManager,
-                           @Nonnull BackManager backManager) {
+                           @Nonnull BackManager backManager,
+                           @Nonnull MessageThrottleManager messageThrottleManager,
+                           @Nonnull ChatManager chatManager,
+                           @Nonnull IgnoreManager ignoreManager,
+                           @Nonnull AntiSpamManager antiSpamManager,
+                           @Nonnull MessageManager messageManager,
+                           @Nonnull CooldownManager cooldownManager) {
         this.storageManager = storageManager;
         this.tpaManager = tpaManager;
         this.teleportManager = teleportManager;
         this.backManager = backManager;
+        this.messageThrottleManager = messageThrottleManager;
+        this.chatManager = chatManager;
+        this.ignoreManager = ignoreManager;
+        this.antiSpamManager = antiSpamManager;
+        this.messageManager = messageManager;
+        this.cooldownManager = cooldownManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event -> {
             UUID playerUuid = event.getPlayerRef().getUuid();
 
+            // Needs player data, so runs before it is unloaded
+            ignoreManager.onPlayerQuit(playerUuid);
+            backManager.onPlayerQuit(playerUuid);
+
             // Save and clean up player data
             storageManager.savePlayerData(playerUuid);
             storageManager.unloadPlayer(playerUuid);
             tpaManager.onPlayerQuit(playerUuid);
             teleportManager.onPlayerQuit(playerUuid);
-            backManager.onPlayerQuit(playerUuid);
+            messageThrottleManager.onPlayerQuit(playerUuid);
+            chatManager.onPlayerQuit(playerUuid);
+            antiSpamManager.onPlayerQuit(playerUuid);
+            messageManager.onPlayerQuit(playerUuid);
+            cooldownManager.onPlayerQuit(playerUuid);
 
             // Clean up static command/event data
-            MsgCommand.onPlayerQuit(playerUuid);
             FreecamCommand.onPlayerQuit(playerUuid);
             SpawnRegionTitleEvent.onPlayerQuit(playerUuid);
         });
@@ -171,7 +171,7 @@ public class SleepPercentageEvent {
             }
 
             // Broadcast message
-            world.sendMessage(ColorUtil.colorize("&eGoodnight! Skipping to morning..."));
+            world.sendMessage(ColorUtil.colorizeConstant("&eGoodnight! Skipping to morning..."));
             Log.info("Night skipped in world '" + worldName + "' due to sleep percentage.");
         }
     }
@@ -17,7 +17,10 @@ import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MessageThrottleManager;
+import com.nhulston.essentials.managers.MessageThrottleManager.ThrottledMessage;
 import com.nhulston.essentials.managers.SpawnProtectionManager;
+import com.nhulston.essentials.models.DamagePolicy;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -25,38 +28,33 @@ import javax.annotation.Nonnull;
 public class SpawnProtectionEvent {
     private static final String PROTECTED_MESSAGE = "This area is protected.";
     private static final String PROTECTED_COLOR = "#FF5555";
-    private static final String PVP_MESSAGE = "PvP is disabled in spawn.";
+    private static final String PVP_MESSAGE = "PvP is disabled here.";
 
     private final SpawnProtectionManager spawnProtectionManager;
+    private final ThrottledMessage protectedMessage;
+    private final ThrottledMessage pvpMessage;
 
-    public SpawnProtectionEvent(@Nonnull SpawnProtectionManager spawnProtectionManager) {
+    public SpawnProtectionEvent(@Nonnull SpawnProtectionManager spawnProtectionManager,
+                                @Nonnull MessageThrottleManager throttleManager) {
         this.spawnProtectionManager = spawnProtectionManager;
-    }
-
-    private static void sendProtectedMessage(PlayerRef playerRef) {
-        if (playerRef != null) {
-            playerRef.sendMessage(Message.raw(PROTECTED_MESSAGE).color(PROTECTED_COLOR));
-        }
-    }
-
-    private static void sendPvpMessage(PlayerRef playerRef) {
-        if (playerRef != null) {
-            playerRef.sendMessage(Message.raw(PVP_MESSAGE).color(PROTECTED_COLOR));
-        }
+        this.protectedMessage = throttleManager.register("spawn.protected",
+                Message.raw(PROTECTED_MESSAGE).color(PROTECTED_COLOR));
+        this.pvpMessage = throttleManager.register("spawn.pvp",
+                Message.raw(PVP_MESSAGE).color(PROTECTED_COLOR));
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
         // Register block break protection
-        registry.registerSystem(new BreakBlockProtectionSystem(spawnProtectionManager));
+        registry.registerSystem(new BreakBlockProtectionSystem(spawnProtectionManager, protectedMessage));
 
         // Register block place protection
-        registry.registerSystem(new PlaceBlockProtectionSystem(spawnProtectionManager));
+        registry.registerSystem(new PlaceBlockProtectionSystem(spawnProtectionManager, protectedMessage));
 
         // Register block damage protection (mining progress)
         registry.registerSystem(new DamageBlockProtectionSystem(spawnProtectionManager));
 
         // Register PvP protection using FilterDamageGroup
-        registry.registerSystem(new SpawnDamageFilterSystem(spawnProtectionManager));
+        registry.registerSystem(new SpawnDamageFilterSystem(spawnProtectionManager, pvpMessage));
     }
 
     /**
@@ -66,10 +64,12 @@ public class SpawnProtectionEvent {
             extends EntityEventSystem<EntityStore, BreakBlockEvent> {
         
         private final SpawnProtectionManager manager;
+        private final ThrottledMessage protectedMessage;
 
-        BreakBlockProtectionSystem(SpawnProtectionManager manager) {
+        BreakBlockProtectionSystem(SpawnProtectionManager manager, ThrottledMessage protectedMessage) {
             super(BreakBlockEvent.class);
             this.manager = manager;
+            this.protectedMessage = protectedMessage;
         }
 
         @Override
@@ -99,7 +99,7 @@ public class SpawnProtectionEvent {
 
             // Cancel the event and notify player
             event.setCancelled(true);
-            sendProtectedMessage(playerRef);
+            protectedMessage.send(playerRef);
         }
     }
 
@@ -110,10 +110,12 @@ public class SpawnProtectionEvent {
             extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
         
         private final SpawnProtectionManager manager;
+        private final ThrottledMessage protectedMessage;
 
-        PlaceBlockProtectionSystem(SpawnProtectionManager manager) {
+        PlaceBlockProtectionSystem(SpawnProtectionManager manager, ThrottledMessage protectedMessage) {
             super(PlaceBlockEvent.class);
             this.manager = manager;
+            this.protectedMessage = protectedMessage;
         }
 
         @Override
@@ -140,7 +142,7 @@ public class SpawnProtectionEvent {
             }
 
             event.setCancelled(true);
-            sendProtectedMessage(playerRef);
+            protectedMessage.send(playerRef);
         }
     }
 
@@ -185,16 +187,20 @@ public class SpawnProtectionEvent {
     }
 
     /**
-     * Filters damage in spawn area by running in the FilterDamageGroup.
-     * This should run before damage is actually applied.
+     * Filters player damage by region policy, running in the FilterDamageGroup
+     * so it applies before damage is actually dealt.
+     * Only entities with a PlayerRef are queried, and events are rejected by source kind
+     * before any position lookup, so mob-on-mob and other world damage costs almost nothing.
      */
     private static class SpawnDamageFilterSystem extends DamageEventSystem {
         
         private final SpawnProtectionManager manager;
+        private final ThrottledMessage pvpMessage;
 
-        SpawnDamageFilterSystem(SpawnProtectionManager manager) {
+        SpawnDamageFilterSystem(SpawnProtectionManager manager, ThrottledMessage pvpMessage) {
             super();
             this.manager = manager;
+            this.pvpMessage = pvpMessage;
         }
 
         @Override
@@ -205,7 +211,8 @@ public class SpawnProtectionEvent {
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            // Only player victims - damage to mobs and NPCs never reaches this system
+            return PlayerRef.getComponentType();
         }
 
         @Override
@@ -213,42 +220,51 @@ public class SpawnProtectionEvent {
                            @NotNull Store<EntityStore> store,
                            @NotNull CommandBuffer<EntityStore> buffer,
                            Damage event) {
-            if (!manager.isEnabled() || !manager.isInvulnerableEnabled() || event.isCancelled()) {
+            if (event.isCancelled() || !manager.hasDamageRestrictions()) {
                 return;
             }
 
-            // Check if the victim is a player
-            PlayerRef victimRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (victimRef == null) {
-                return;
+            // Classify the source, skipping the attacker lookup when no policy cares about entities
+            DamagePolicy.Source kind;
+            PlayerRef attackerPlayerRef = null;
+            Damage.Source source = event.getSource();
+            if (source instanceof Damage.EntitySource entitySource) {
+                if (!manager.isDamageSourceRestricted(DamagePolicy.Source.PVP)
+                        && !manager.isDamageSourceRestricted(DamagePolicy.Source.PVE)) {
+                    return;
+                }
+
+                Ref<EntityStore> attackerRef = entitySource.getRef();
+                if (!attackerRef.isValid()) {
+                    return;
+                }
+
+                attackerPlayerRef = store.getComponent(attackerRef, PlayerRef.getComponentType());
+                kind = attackerPlayerRef != null ? DamagePolicy.Source.PVP : DamagePolicy.Source.PVE;
+            } else {
+                kind = DamagePolicy.Source.ENVIRONMENT;
             }
 
-            // Check if victim is in protected area
-            if (!manager.isInProtectedArea(victimRef.getTransform().getPosition())) {
+            if (!manager.isDamageSourceRestricted(kind)) {
                 return;
             }
 
-            // Check if the attacker is a player (only block PvP, not PvE)
-            Damage.Source source = event.getSource();
-            if (!(source instanceof Damage.EntitySource entitySource)) {
+            PlayerRef victimRef = chunk.getComponent(index, PlayerRef.getComponentType());
+            if (victimRef == null) {
                 return;
             }
 
-            // Get attacker's PlayerRef
-            Ref<EntityStore> attackerRef = entitySource.getRef();
-            if (!attackerRef.isValid()) {
+            String worldName = store.getExternalData().getWorld().getName();
+            DamagePolicy policy = manager.getDamagePolicy(worldName, victimRef.getTransform().getPosition());
+            if (policy.allows(kind)) {
                 return;
             }
-            
-            PlayerRef attackerPlayerRef = store.getComponent(attackerRef, PlayerRef.getComponentType());
-            if (attackerPlayerRef == null) {
-                return; // Attacker is not a player (NPC, mob, etc.) - allow damage
-            }
 
-            // Both are players, victim is in spawn - cancel PvP damage
             event.setCancelled(true);
             event.setAmount(0);
-            sendPvpMessage(attackerPlayerRef);
+            if (kind == DamagePolicy.Source.PVP) {
+                pvpMessage.send(attackerPlayerRef);
+            }
         }
     }
 }
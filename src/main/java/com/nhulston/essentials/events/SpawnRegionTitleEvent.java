@@ -6,12 +6,12 @@ import com.hypixel.hytale.component.ComponentRegistryProxy;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.EventTitleUtil;
 import com.nhulston.essentials.managers.SpawnProtectionManager;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
 import com.nhulston.essentials.util.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -84,30 +84,28 @@ public class SpawnRegionTitleEvent {
                 return;
             }
 
-            // Check for state change
+            // Check for state change (titles are colorized once when the config loads)
             if (isInSpawn && !wasInSpawn) {
                 // Player entered spawn
-                String enterTitle = config.getSpawnProtectionEnterTitle();
-                String enterSubtitle = config.getSpawnProtectionEnterSubtitle();
-                if (!enterTitle.isEmpty() || !enterSubtitle.isEmpty()) {
+                ConfigSnapshot.SpawnProtectionSettings settings = config.getSnapshot().spawnProtection();
+                if (settings.enterTitleMessage() != null && settings.enterSubtitleMessage() != null) {
                     EventTitleUtil.hideEventTitleFromPlayer(playerRef, 0);
                     EventTitleUtil.showEventTitleToPlayer(
                             playerRef,
-                            Message.raw(enterTitle),
-                            Message.raw(enterSubtitle),
+                            settings.enterTitleMessage(),
+                            settings.enterSubtitleMessage(),
                             true
                     );
                 }
             } else if (!isInSpawn && wasInSpawn) {
                 // Player left spawn
-                String exitTitle = config.getSpawnProtectionExitTitle();
-                String exitSubtitle = config.getSpawnProtectionExitSubtitle();
-                if (!exitTitle.isEmpty() || !exitSubtitle.isEmpty()) {
+                ConfigSnapshot.SpawnProtectionSettings settings = config.getSnapshot().spawnProtection();
+                if (settings.exitTitleMessage() != null && settings.exitSubtitleMessage() != null) {
                     EventTitleUtil.hideEventTitleFromPlayer(playerRef, 0);
                     EventTitleUtil.showEventTitleToPlayer(
                             playerRef,
-                            Message.raw(exitTitle),
-                            Message.raw(exitSubtitle),
+                            settings.exitTitleMessage(),
+                            settings.exitSubtitleMessage(),
                             false
                     );
                 }
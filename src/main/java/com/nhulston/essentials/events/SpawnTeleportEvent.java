@@ -19,6 +19,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.BroadcastManager;
 import com.nhulston.essentials.managers.SpawnManager;
 import com.nhulston.essentials.models.Spawn;
 import com.nhulston.essentials.util.ColorUtil;
@@ -34,12 +35,14 @@ public class SpawnTeleportEvent {
     private final SpawnManager spawnManager;
     private final ConfigManager configManager;
     private final StorageManager storageManager;
+    private final BroadcastManager broadcastManager;
 
     public SpawnTeleportEvent(@Nonnull SpawnManager spawnManager, @Nonnull ConfigManager configManager,
-                              @Nonnull StorageManager storageManager) {
+                              @Nonnull StorageManager storageManager, @Nonnull BroadcastManager broadcastManager) {
         this.spawnManager = spawnManager;
         this.configManager = configManager;
         this.storageManager = storageManager;
+        this.broadcastManager = broadcastManager;
     }
 
     public void registerEvents(@Nonnull EventRegistry eventRegistry) {
@@ -67,7 +70,7 @@ public class SpawnTeleportEvent {
                 if (configManager.isWelcomeBroadcastEnabled()) {
                     String message = configManager.getWelcomeBroadcastMessage()
                             .replace("%player%", playerRef.getUsername());
-                    Universe.get().sendMessage(ColorUtil.colorize(message));
+                    broadcastManager.broadcast(ColorUtil.colorize(message));
                 }
             }
             
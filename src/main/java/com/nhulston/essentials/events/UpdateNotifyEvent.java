@@ -54,7 +54,7 @@ public class UpdateNotifyEvent {
             // Send update notification
             String downloadUrl = "https://curseforge.com/hytale/mods/essentials-core";
             
-            playerRef.sendMessage(ColorUtil.colorize("&8[&6Essentials&8] &eA new version is available!"));
+            playerRef.sendMessage(ColorUtil.colorizeConstant("&8[&6Essentials&8] &eA new version is available!"));
             playerRef.sendMessage(ColorUtil.colorize("&7Current: &f" + currentVersion + " &8| &7Latest: &a" + latestVersion));
             playerRef.sendMessage(Message.join(
                     Message.raw("Download: ").color("#AAAAAA"),
@@ -7,41 +7,61 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
-import com.hypixel.hytale.server.core.entity.ItemUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
 import com.hypixel.hytale.server.core.inventory.Inventory;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
-import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.models.Kit;
-import com.nhulston.essentials.models.KitItem;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * A GUI page for selecting kits.
+ * Everything that doesn't depend on the player (names, selectors, event data) is built once per
+ * kit set and shared by every page; opening the page only checks permissions and cooldowns for
+ * the kits on the page being shown.
  */
 public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
     private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.kit.cooldown.bypass";
+    private static final int PAGE_SIZE = 20;
+
+    // Selectors for each position on a page, the same for every page
+    private static final String[] CARD_SELECTORS = new String[PAGE_SIZE];
+    private static final String[] NAME_SELECTORS = new String[PAGE_SIZE];
+    private static final String[] STATUS_SELECTORS = new String[PAGE_SIZE];
+
+    static {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            CARD_SELECTORS[i] = "#KitCards[" + i + "]";
+            NAME_SELECTORS[i] = CARD_SELECTORS[i] + " #Name.Text";
+            STATUS_SELECTORS[i] = CARD_SELECTORS[i] + " #Status.Text";
+        }
+    }
+
+    private static volatile Model cachedModel;
 
     private final KitManager kitManager;
+    private final CooldownManager cooldownManager;
+    private int page;
 
-    public KitPage(@Nonnull PlayerRef playerRef, @Nonnull KitManager kitManager) {
+    public KitPage(@Nonnull PlayerRef playerRef, @Nonnull KitManager kitManager,
+                   @Nonnull CooldownManager cooldownManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, KitPageData.CODEC);
         this.kitManager = kitManager;
+        this.cooldownManager = cooldownManager;
     }
 
     @Override
@@ -49,77 +69,128 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
                       @Nonnull UIEventBuilder eventBuilder, @Nonnull Store<EntityStore> store) {
         commandBuilder.append("Pages/Essentials_KitPage.ui");
 
-        List<Kit> allKits = new ArrayList<>(kitManager.getKits());
-        if (allKits.isEmpty()) {
-            // No kits available - could add a "No kits available" message element
-            return;
+        Model model = getModel(kitManager.getKits(), cooldownManager);
+        int pageCount = model.getPageCount();
+        page = Math.clamp(page, 0, pageCount - 1);
+
+        if (pageCount > 1) {
+            commandBuilder.set("#PageLabel.Text", "Page " + (page + 1) + " of " + pageCount);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#PrevPage",
+                    model.pageEvents[(page + pageCount - 1) % pageCount]);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#NextPage",
+                    model.pageEvents[(page + 1) % pageCount]);
+        } else {
+            commandBuilder.set("#Pager.Visible", false);
         }
 
-        for (int i = 0; i < allKits.size(); i++) {
-            Kit kit = allKits.get(i);
-            String selector = "#KitCards[" + i + "]";
+        UUID uuid = playerRef.getUuid();
+        PermissionsModule permissions = PermissionsModule.get();
+        int from = page * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, model.kits.length);
+        for (int i = from; i < to; i++) {
+            int position = i - from;
+            Kit kit = model.kits[i];
 
             commandBuilder.append("#KitCards", "Pages/Essentials_KitEntry.ui");
-            commandBuilder.set(selector + " #Name.Text", kit.getDisplayName());
+            commandBuilder.set(NAME_SELECTORS[position], kit.getDisplayName());
 
             // Check permission and cooldown status
-            String permission = "essentials.kit." + kit.getId();
-            boolean hasPermission = PermissionsModule.get().hasPermission(playerRef.getUuid(), permission);
-
             String status;
-            if (!hasPermission) {
+            if (!permissions.hasPermission(uuid, kit.getPermission())) {
                 status = "You don't have access to this kit";
             } else {
-                long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
+                long remainingCooldown = cooldownManager.getRemaining(uuid, model.cooldownIds[i], kit.getCooldown());
                 if (remainingCooldown > 0) {
                     status = "Cooldown: " + CooldownUtil.formatCooldown(remainingCooldown);
                 } else {
                     status = "Ready to claim";
                 }
             }
-            commandBuilder.set(selector + " #Status.Text", status);
+            commandBuilder.set(STATUS_SELECTORS[position], status);
 
-            eventBuilder.addEventBinding(
-                    CustomUIEventBindingType.Activating,
-                    selector,
-                    EventData.of("Kit", kit.getId())
-            );
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, CARD_SELECTORS[position],
+                    model.kitEvents[i]);
+        }
+    }
+
+    /**
+     * Gets the shared model for a kit set, building it if the kits changed since it was last built.
+     */
+    @Nonnull
+    private static Model getModel(@Nonnull List<Kit> kits, @Nonnull CooldownManager cooldownManager) {
+        Model model = cachedModel;
+        if (model == null || model.source != kits) {
+            model = new Model(kits, cooldownManager);
+            cachedModel = model;
+        }
+        return model;
+    }
+
+    /**
+     * The player-independent part of the page for one kit set.
+     */
+    private static final class Model {
+        private final List<Kit> source;
+        private final Kit[] kits;
+        private final int[] cooldownIds;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final EventData[] kitEvents;
+        private final EventData[] pageEvents;
+
+        Model(@Nonnull List<Kit> source, @Nonnull CooldownManager cooldownManager) {
+            this.source = source;
+            this.kits = source.toArray(new Kit[0]);
+            this.cooldownIds = new int[kits.length];
+            this.kitEvents = new EventData[kits.length];
+            for (int i = 0; i < kits.length; i++) {
+                cooldownIds[i] = cooldownManager.registerKit(kits[i]);
+                indexes.put(kits[i].getId(), i);
+                kitEvents[i] = EventData.of("Kit", kits[i].getId());
+            }
+            this.pageEvents = new EventData[Math.max(1, (kits.length + PAGE_SIZE - 1) / PAGE_SIZE)];
+            for (int i = 0; i < pageEvents.length; i++) {
+                pageEvents[i] = EventData.of("Page", String.valueOf(i));
+            }
+        }
+
+        int getPageCount() {
+            return pageEvents.length;
         }
     }
 
     @Override
     public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store,
                                 @Nonnull KitPageData data) {
+        if (data.page != null) {
+            try {
+                page = Integer.parseInt(data.page);
+            } catch (NumberFormatException e) {
+                return;
+            }
+            rebuild();
+            return;
+        }
         if (data.kit == null || data.kit.isEmpty()) {
             return;
         }
 
-        Kit kit = kitManager.getKit(data.kit);
-        if (kit == null) {
+        Model model = getModel(kitManager.getKits(), cooldownManager);
+        Integer index = model.indexes.get(data.kit.toLowerCase());
+        if (index == null) {
             Msg.fail(playerRef, "Kit not found.");
             this.close();
             return;
         }
+        Kit kit = model.kits[index];
+        int cooldownId = model.cooldownIds[index];
 
         // Check permission
-        String permission = "essentials.kit." + kit.getId();
-        if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
+        if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), kit.getPermission())) {
             Msg.fail(playerRef, "You don't have permission to use this kit.");
             this.close();
             return;
         }
 
-        // Check cooldown (unless player has bypass permission)
-        boolean canBypassCooldown = PermissionsModule.get().hasPermission(playerRef.getUuid(), COOLDOWN_BYPASS_PERMISSION);
-        if (!canBypassCooldown) {
-            long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
-            if (remainingCooldown > 0) {
-                Msg.fail(playerRef, "This kit is on cooldown. " + CooldownUtil.formatCooldown(remainingCooldown) + " remaining.");
-                this.close();
-                return;
-            }
-        }
-
         // Get player inventory
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
@@ -135,104 +206,56 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
             return;
         }
 
-        // Apply kit (overflow items will be dropped on the ground)
-        applyKit(kit, inventory, ref, store);
-
-        // Sync inventory changes to client
-        player.sendInventory();
-
-        // Set cooldown
-        if (kit.getCooldown() > 0) {
-            kitManager.setKitUsed(playerRef.getUuid(), kit.getId());
-        }
-
-        Msg.success(playerRef, "You received the " + kit.getDisplayName() + " kit!");
-        this.close();
-    }
-
-    /**
-     * Applies a kit to the player's inventory. Overflow items are dropped on the ground.
-     */
-    private void applyKit(@Nonnull Kit kit, @Nonnull Inventory inventory,
-                          @Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
-        // Clear inventory if replace mode
-        if (kit.isReplaceMode()) {
-            inventory.clear();
-        }
-
-        // Add items to inventory
-        for (KitItem kitItem : kit.getItems()) {
-            ItemStack itemStack = new ItemStack(kitItem.itemId(), kitItem.quantity());
-            ItemStack remainder = addItemWithOverflow(inventory, kitItem, itemStack);
-            
-            // Drop any overflow items on the ground
-            if (remainder != null && !remainder.isEmpty()) {
-                ItemUtils.dropItem(ref, remainder, store);
+        // Check and start the cooldown in one step (players with bypass permission skip the check)
+        UUID uuid = playerRef.getUuid();
+        boolean canBypassCooldown = PermissionsModule.get().hasPermission(uuid, COOLDOWN_BYPASS_PERMISSION);
+        switch (cooldownManager.beginClaim(uuid, cooldownId, kit.getCooldown(), canBypassCooldown)) {
+            case ON_COOLDOWN -> {
+                long remainingCooldown = cooldownManager.getRemaining(uuid, cooldownId, kit.getCooldown());
+                Msg.fail(playerRef, "This kit is on cooldown. " + CooldownUtil.formatCooldown(remainingCooldown) + " remaining.");
+                this.close();
+                return;
             }
-        }
-    }
-
-    /**
-     * Adds an item to inventory and returns any remainder that couldn't fit
-     */
-    @Nullable
-    private ItemStack addItemWithOverflow(@Nonnull Inventory inventory, @Nonnull KitItem kitItem, @Nonnull ItemStack itemStack) {
-        ItemContainer container = getContainerBySection(inventory, kitItem.section());
-        
-        if (container != null) {
-            // Try to add to specific slot first
-            short slot = (short) kitItem.slot();
-            if (slot >= 0 && slot < container.getCapacity()) {
-                ItemStack existing = container.getItemStack(slot);
-                if (existing == null || existing.isEmpty()) {
-                    container.setItemStackForSlot(slot, itemStack);
-                    return null;
-                }
+            case REJECTED -> {
+                // A duplicate click; the first one is handing out the kit
+                return;
             }
-            // Slot occupied or invalid - for armor/utility/tools, fall back to hotbar/storage
-            // (these containers don't support arbitrary item placement like hotbar/storage do)
-            String section = kitItem.section().toLowerCase();
-            if (section.equals("armor") || section.equals("utility") || section.equals("tools")) {
-                ItemStackTransaction transaction = inventory.getCombinedHotbarFirst().addItemStack(itemStack);
-                return transaction.getRemainder();
+            case CLAIMED -> {
             }
-            // For hotbar/storage, try adding anywhere in that container
-            ItemStackTransaction transaction = container.addItemStack(itemStack);
-            return transaction.getRemainder();
-        } else {
-            // Unknown section, try adding to combined hotbar/storage
-            ItemStackTransaction transaction = inventory.getCombinedHotbarFirst().addItemStack(itemStack);
-            return transaction.getRemainder();
         }
-    }
 
-    /**
-     * Gets the appropriate item container by section name
-     */
-    private ItemContainer getContainerBySection(@Nonnull Inventory inventory, @Nonnull String section) {
-        return switch (section.toLowerCase()) {
-            case "hotbar" -> inventory.getHotbar();
-            case "storage" -> inventory.getStorage();
-            case "armor" -> inventory.getArmor();
-            case "utility" -> inventory.getUtility();
-            case "tools" -> inventory.getTools();
-            default -> null;
-        };
+        try {
+            // Apply kit (overflow items will be dropped on the ground), then sync the inventory once
+            kitManager.applyKit(kit, inventory, ref, store);
+            player.sendInventory();
+        } finally {
+            cooldownManager.finishClaim(uuid);
+        }
+
+        Msg.success(playerRef, "You received the " + kit.getDisplayName() + " kit!");
+        this.close();
     }
 
     /**
-     * Event data for kit selection.
+     * Event data for kit selection and paging.
      */
     public static class KitPageData {
         public static final BuilderCodec<KitPageData> CODEC = BuilderCodec.builder(KitPageData.class, KitPageData::new)
                 .append(new KeyedCodec<>("Kit", Codec.STRING), (data, s) -> data.kit = s, data -> data.kit)
                 .add()
+                .append(new KeyedCodec<>("Page", Codec.STRING), (data, s) -> data.page = s, data -> data.page)
+                .add()
                 .build();
 
         private String kit;
+        private String page;
 
         public String getKit() {
             return kit;
         }
+
+        public String getPage() {
+            return page;
+        }
     }
 }
@@ -0,0 +1,206 @@
+package com.nhulston.essentials.gui;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.managers.WarpManager;
+import com.nhulston.essentials.models.Warp;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A GUI page for browsing warps, one page at a time.
+ * Warps come from the manager's sorted index, so showing a page only reads that page's slice
+ * (narrowed to one category by binary search when a category is selected).
+ */
+public class WarpPage extends InteractiveCustomUIPage<WarpPage.WarpPageData> {
+    private static final int PAGE_SIZE = 20;
+
+    // Selectors for each position on a page, the same for every page
+    private static final String[] CARD_SELECTORS = new String[PAGE_SIZE];
+    private static final String[] NAME_SELECTORS = new String[PAGE_SIZE];
+    private static final String[] STATUS_SELECTORS = new String[PAGE_SIZE];
+
+    static {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            CARD_SELECTORS[i] = "#WarpCards[" + i + "]";
+            NAME_SELECTORS[i] = CARD_SELECTORS[i] + " #Name.Text";
+            STATUS_SELECTORS[i] = CARD_SELECTORS[i] + " #Status.Text";
+        }
+    }
+
+    private final WarpManager warpManager;
+    private final TeleportManager teleportManager;
+    private int page;
+    // Selected category, or null for all warps
+    private String category;
+
+    public WarpPage(@Nonnull PlayerRef playerRef, @Nonnull WarpManager warpManager,
+                    @Nonnull TeleportManager teleportManager) {
+        super(playerRef, CustomPageLifetime.CanDismiss, WarpPageData.CODEC);
+        this.warpManager = warpManager;
+        this.teleportManager = teleportManager;
+    }
+
+    @Override
+    public void build(@Nonnull Ref<EntityStore> ref, @Nonnull UICommandBuilder commandBuilder,
+                      @Nonnull UIEventBuilder eventBuilder, @Nonnull Store<EntityStore> store) {
+        commandBuilder.append("Pages/Essentials_WarpPage.ui");
+
+        List<WarpManager.Entry> index = warpManager.getIndex();
+        List<String> categories = warpManager.getCategories();
+        if (category != null && !categories.contains(category)) {
+            category = null;
+        }
+        buildFilter(commandBuilder, eventBuilder, categories);
+
+        int start = 0;
+        int end = index.size();
+        if (category != null) {
+            int[] range = warpManager.getCategoryRange(index, category);
+            start = range[0];
+            end = range[1];
+        }
+
+        int pageCount = Math.max(1, (end - start + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.clamp(page, 0, pageCount - 1);
+        if (pageCount > 1) {
+            commandBuilder.set("#PageLabel.Text", "Page " + (page + 1) + " of " + pageCount);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#PrevPage",
+                    EventData.of("Page", String.valueOf((page + pageCount - 1) % pageCount)));
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#NextPage",
+                    EventData.of("Page", String.valueOf((page + 1) % pageCount)));
+        } else {
+            commandBuilder.set("#Pager.Visible", false);
+        }
+
+        UUID uuid = playerRef.getUuid();
+        int from = start + page * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, end);
+        for (int i = from; i < to; i++) {
+            int position = i - from;
+            WarpManager.Entry entry = index.get(i);
+
+            commandBuilder.append("#WarpCards", "Pages/Essentials_WarpEntry.ui");
+            commandBuilder.set(NAME_SELECTORS[position], entry.name());
+            commandBuilder.set(STATUS_SELECTORS[position], warpManager.canUse(uuid, entry)
+                    ? describe(entry)
+                    : "You don't have access to this warp");
+
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, CARD_SELECTORS[position],
+                    EventData.of("Warp", entry.name()));
+        }
+    }
+
+    /**
+     * Shows the selected category on a button that cycles through all categories and back to all warps.
+     */
+    private void buildFilter(@Nonnull UICommandBuilder commandBuilder, @Nonnull UIEventBuilder eventBuilder,
+                             @Nonnull List<String> categories) {
+        if (categories.size() <= 1) {
+            commandBuilder.set("#Filter.Visible", false);
+            return;
+        }
+        commandBuilder.set("#CategoryLabel.Text", "Category: " + (category != null ? category : "All"));
+
+        int next = category != null ? categories.indexOf(category) + 1 : 0;
+        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#CategoryButton",
+                EventData.of("Category", next < categories.size() ? categories.get(next) : ""));
+    }
+
+    @Nonnull
+    private static String describe(@Nonnull WarpManager.Entry entry) {
+        Warp warp = entry.warp();
+        String description = entry.category() + " - " + warp.getWorld();
+        return warp.getOwnerName() != null ? description + " - by " + warp.getOwnerName() : description;
+    }
+
+    @Override
+    public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store,
+                                @Nonnull WarpPageData data) {
+        if (data.page != null) {
+            try {
+                page = Integer.parseInt(data.page);
+            } catch (NumberFormatException e) {
+                return;
+            }
+            rebuild();
+            return;
+        }
+        if (data.category != null) {
+            category = data.category.isEmpty() ? null : data.category;
+            page = 0;
+            rebuild();
+            return;
+        }
+        if (data.warp == null || data.warp.isEmpty()) {
+            return;
+        }
+
+        WarpManager.Entry entry = warpManager.getEntry(data.warp);
+        if (entry == null) {
+            Msg.fail(playerRef, "Warp not found.");
+            this.close();
+            return;
+        }
+        if (!warpManager.canUse(playerRef.getUuid(), entry)) {
+            Msg.fail(playerRef, "You don't have permission to use this warp.");
+            this.close();
+            return;
+        }
+
+        this.close();
+        Warp warp = entry.warp();
+        Vector3d startPosition = playerRef.getTransform().getPosition();
+        teleportManager.queueTeleport(
+            playerRef, ref, store, startPosition,
+            warp.getWorld(), warp.getX(), warp.getY(), warp.getZ(), warp.getYaw(), warp.getPitch(),
+            "Teleported to warp '" + entry.name() + "'"
+        );
+    }
+
+    /**
+     * Event data for warp selection, paging and category selection.
+     */
+    public static class WarpPageData {
+        public static final BuilderCodec<WarpPageData> CODEC = BuilderCodec.builder(WarpPageData.class, WarpPageData::new)
+                .append(new KeyedCodec<>("Warp", Codec.STRING), (data, s) -> data.warp = s, data -> data.warp)
+                .add()
+                .append(new KeyedCodec<>("Page", Codec.STRING), (data, s) -> data.page = s, data -> data.page)
+                .add()
+                .append(new KeyedCodec<>("Category", Codec.STRING), (data, s) -> data.category = s, data -> data.category)
+                .add()
+                .build();
+
+        private String warp;
+        private String page;
+        private String category;
+
+        public String getWarp() {
+            return warp;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+}
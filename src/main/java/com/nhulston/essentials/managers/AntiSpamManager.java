@@ -0,0 +1,278 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.MessageThrottleManager.ThrottledMessage;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chat flood protection for public chat and private messages.
+ * Each player has a token bucket (stored as a single "theoretical arrival time"), a small ring of
+ * recent message hashes to catch repeats, and a strike counter that leads to escalating mutes.
+ * All state is kept in atomics, so concurrent chat events never take a lock.
+ * State outlives a disconnect until its mute and strike windows run out, so relogging doesn't
+ * clear a mute or reset escalation.
+ */
+public class AntiSpamManager {
+    private static final String BYPASS_PERMISSION = "essentials.chat.spam.bypass";
+    private static final String FEEDBACK_COLOR = "#FF5555";
+
+    // Largest duplicate-window the ring buffer can hold
+    private static final int MAX_DUPLICATE_WINDOW = 16;
+    // Strikes older than this are forgotten
+    private static final long STRIKE_RESET_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // A mute within this long of the previous one lasts twice as long
+    private static final long MUTE_ESCALATION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    public enum Result { ALLOWED, MUTED, DUPLICATE, RATE_LIMITED }
+
+    private final ConfigManager configManager;
+    private final ConcurrentHashMap<UUID, SpamState> states = new ConcurrentHashMap<>();
+    // Players who quit while their state was still live; swept for expired state on each quit
+    private final Set<UUID> departed = ConcurrentHashMap.newKeySet();
+    private final LongAdder[] counters = new LongAdder[Result.values().length];
+    private final LongAdder mutes = new LongAdder();
+
+    private final ThrottledMessage rateLimitedMessage;
+    private final ThrottledMessage duplicateMessage;
+    private final ThrottledMessage mutedMessage;
+
+    public AntiSpamManager(@Nonnull ConfigManager configManager, @Nonnull MessageThrottleManager throttleManager) {
+        this.configManager = configManager;
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        this.rateLimitedMessage = throttleManager.register("chat.rate-limited",
+                Message.raw("You are sending messages too fast.").color(FEEDBACK_COLOR));
+        this.duplicateMessage = throttleManager.register("chat.duplicate",
+                Message.raw("Please don't repeat the same message.").color(FEEDBACK_COLOR));
+        this.mutedMessage = throttleManager.register("chat.muted",
+                Message.raw("You are muted for spamming.").color(FEEDBACK_COLOR));
+    }
+
+    /**
+     * Checks a chat or private message and tells the sender if it was dropped.
+     *
+     * @return true if the message may be sent
+     */
+    public boolean allowMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
+        return allowMessage(sender, null, content);
+    }
+
+    /**
+     * Checks a private message and tells the sender if it was dropped.
+     * The same text sent to different recipients doesn't count as a repeat.
+     *
+     * @param target the recipient, or null for public chat
+     * @return true if the message may be sent
+     */
+    public boolean allowMessage(@Nonnull PlayerRef sender, @Nullable UUID target, @Nonnull String content) {
+        Result result = check(sender, target, content);
+        switch (result) {
+            case RATE_LIMITED -> rateLimitedMessage.send(sender);
+            case DUPLICATE -> duplicateMessage.send(sender);
+            case MUTED -> mutedMessage.send(sender);
+            case ALLOWED -> {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks a message against the sender's limits, recording it if allowed.
+     *
+     * @param target the recipient of a private message, or null for public chat
+     */
+    @Nonnull
+    public Result check(@Nonnull PlayerRef sender, @Nullable UUID target, @Nonnull String content) {
+        ConfigSnapshot.AntiSpamSettings settings = configManager.getAntiSpamSettings();
+        if (!settings.enabled()) {
+            return Result.ALLOWED;
+        }
+        UUID uuid = sender.getUuid();
+        if (PermissionsModule.get().hasPermission(uuid, BYPASS_PERMISSION)) {
+            return Result.ALLOWED;
+        }
+
+        departed.remove(uuid);
+        SpamState state = states.computeIfAbsent(uuid, _ -> new SpamState());
+        long now = System.nanoTime();
+        long hash = hash(target, content);
+        int window = Math.min(settings.duplicateWindow(), MAX_DUPLICATE_WINDOW);
+
+        Result result;
+        if (now - state.mutedUntil.get() < 0) {
+            result = Result.MUTED;
+        } else if (state.isDuplicate(hash, window)) {
+            result = Result.DUPLICATE;
+        } else if (!state.tryAcquire(now, settings)) {
+            result = Result.RATE_LIMITED;
+        } else {
+            state.remember(hash);
+            result = Result.ALLOWED;
+        }
+
+        counters[result.ordinal()].increment();
+        if (result == Result.DUPLICATE || result == Result.RATE_LIMITED) {
+            long muteSeconds = state.strike(now, settings);
+            if (muteSeconds > 0) {
+                mutes.increment();
+                Msg.fail(sender, "You have been muted for " + muteSeconds + " seconds for spamming.");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hashes a message ignoring case and whitespace, so "Hi", "hi" and "h i" count as repeats.
+     * Private messages are keyed by recipient too.
+     */
+    private static long hash(@Nullable UUID target, @Nonnull String content) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64-bit
+        if (target != null) {
+            hash ^= target.getMostSignificantBits();
+            hash *= 0x100000001b3L;
+            hash ^= target.getLeastSignificantBits();
+            hash *= 0x100000001b3L;
+        }
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            hash ^= Character.toLowerCase(c);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Gets how many messages ended with the given result.
+     */
+    public long getCount(@Nonnull Result result) {
+        return counters[result.ordinal()].sum();
+    }
+
+    public long getMuteCount() {
+        return mutes.sum();
+    }
+
+    /**
+     * Keeps a player's spam state until it expires, then drops it.
+     * Also drops any expired state left behind by players who quit earlier.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        departed.add(playerUuid);
+        long now = System.nanoTime();
+        departed.removeIf(uuid -> states.computeIfPresent(uuid,
+                (_, state) -> state.isExpired(now) ? null : state) == null);
+    }
+
+    /**
+     * Per-player limiter state.
+     */
+    private static final class SpamState {
+        // System.nanoTime() can be any value, including 0 or negative, so "never" needs its own marker
+        private static final long NEVER = Long.MIN_VALUE;
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        private final AtomicLongArray recentHashes = new AtomicLongArray(MAX_DUPLICATE_WINDOW);
+        private final AtomicInteger recentCount = new AtomicInteger();
+        private final AtomicInteger strikes = new AtomicInteger();
+        private final AtomicLong lastStrike = new AtomicLong(NEVER);
+        private final AtomicLong mutedUntil = new AtomicLong(System.nanoTime());
+        private final AtomicLong lastMute = new AtomicLong(NEVER);
+        private final AtomicInteger muteLevel = new AtomicInteger();
+
+        /**
+         * Takes a token from the bucket (GCRA). Allows a burst of messages, then one per interval.
+         */
+        boolean tryAcquire(long now, @Nonnull ConfigSnapshot.AntiSpamSettings settings) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.messagesPerSecond());
+            long tolerance = interval * (settings.burst() - 1);
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long start = now - tat > 0 ? now : tat;
+                if (start - now > tolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Whether nothing here still matters: no mute running, and no strikes or recent mute to escalate from.
+         */
+        boolean isExpired(long now) {
+            long strike = lastStrike.get();
+            long mute = lastMute.get();
+            return now - mutedUntil.get() >= 0
+                    && (strike == NEVER || now - strike > STRIKE_RESET_NANOS)
+                    && (mute == NEVER || now - mute >= MUTE_ESCALATION_NANOS);
+        }
+
+        boolean isDuplicate(long hash, int window) {
+            int count = recentCount.get();
+            int checked = Math.min(window, count);
+            for (int i = 1; i <= checked; i++) {
+                if (recentHashes.get((count - i) % MAX_DUPLICATE_WINDOW) == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void remember(long hash) {
+            int index = recentCount.getAndUpdate(i -> i == Integer.MAX_VALUE ? MAX_DUPLICATE_WINDOW : i + 1);
+            recentHashes.set(index % MAX_DUPLICATE_WINDOW, hash);
+        }
+
+        /**
+         * Records a dropped message.
+         *
+         * @return the length of the mute that was started, or 0 if the player wasn't muted
+         */
+        long strike(long now, @Nonnull ConfigSnapshot.AntiSpamSettings settings) {
+            long previous = lastStrike.getAndSet(now);
+            if (previous == NEVER || now - previous > STRIKE_RESET_NANOS) {
+                strikes.set(0);
+            }
+            if (strikes.incrementAndGet() < settings.strikesBeforeMute()) {
+                return 0;
+            }
+            strikes.set(0);
+            if (settings.muteSeconds() <= 0) {
+                return 0;
+            }
+
+            long previousMute = lastMute.getAndSet(now);
+            int level = previousMute != NEVER && now - previousMute < MUTE_ESCALATION_NANOS
+                    ? Math.min(muteLevel.incrementAndGet(), 16)
+                    : 0;
+            muteLevel.set(level);
+
+            long seconds = Math.min((long) settings.muteSeconds() << level,
+                    Math.max(settings.muteSeconds(), settings.maxMuteSeconds()));
+            long until = now + TimeUnit.SECONDS.toNanos(seconds);
+            mutedUntil.accumulateAndGet(until, (a, b) -> b - a > 0 ? b : a);
+            return seconds;
+        }
+    }
+}
@@ -1,87 +1,179 @@
 package com.nhulston.essentials.managers;
 
+import com.nhulston.essentials.models.BackLocation;
+import com.nhulston.essentials.util.StorageManager;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Manages death locations for the /back command.
- * Stores locations in memory only - not persisted across restarts.
+ * Recent locations for the /back command: where players died and where they were before each
+ * teleport. Each player has a small ring buffer kept as primitive arrays, so recording a location
+ * (on every death and teleport) allocates nothing once the buffer exists. History is read from
+ * player data the first time it's needed and written back when the player leaves or the server stops.
  */
 public class BackManager {
-    private final ConcurrentHashMap<UUID, DeathLocation> deathLocations = new ConcurrentHashMap<>();
+    public static final int HISTORY_SIZE = 10;
+
+    private final StorageManager storageManager;
+    private final ConcurrentHashMap<UUID, History> histories = new ConcurrentHashMap<>();
+
+    public BackManager(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    /**
+     * Records where a player died.
+     */
+    public void recordDeath(@Nonnull UUID playerUuid, @Nonnull String worldName,
+                            double x, double y, double z, float yaw, float pitch) {
+        record(playerUuid, worldName, x, y, z, yaw, pitch, true);
+    }
 
     /**
-     * Records a player's death location.
+     * Records where a player was standing before a teleport. Call this only once the teleport has
+     * succeeded; the ring can't bring back an entry it overwrote.
      */
-    public void setDeathLocation(@Nonnull UUID playerUuid, @Nonnull String worldName,
-                                  double x, double y, double z, float yaw, float pitch) {
-        deathLocations.put(playerUuid, new DeathLocation(worldName, x, y, z, yaw, pitch));
+    public void recordTeleport(@Nonnull UUID playerUuid, @Nonnull String worldName,
+                               double x, double y, double z, float yaw, float pitch) {
+        record(playerUuid, worldName, x, y, z, yaw, pitch, false);
+    }
+
+    private void record(@Nonnull UUID playerUuid, @Nonnull String worldName,
+                        double x, double y, double z, float yaw, float pitch, boolean death) {
+        History history = getHistory(playerUuid);
+        synchronized (history) {
+            history.push(worldName, x, y, z, yaw, pitch, death, System.currentTimeMillis());
+        }
     }
 
     /**
-     * Gets a player's death location without clearing it.
-     * Returns null if no death location is stored.
+     * Gets a recent location.
+     *
+     * @param index 1 for the most recent location, 2 for the one before, and so on
+     * @return the location, or null if there aren't that many
      */
     @Nullable
-    public DeathLocation getDeathLocation(@Nonnull UUID playerUuid) {
-        return deathLocations.get(playerUuid);
+    public BackLocation getLocation(@Nonnull UUID playerUuid, int index) {
+        History history = getHistory(playerUuid);
+        synchronized (history) {
+            return index >= 1 && index <= history.size ? history.get(index - 1) : null;
+        }
     }
 
     /**
-     * Clears a player's death location.
+     * Gets how many locations a player can go back to.
      */
-    public void clearDeathLocation(@Nonnull UUID playerUuid) {
-        deathLocations.remove(playerUuid);
+    public int getLocationCount(@Nonnull UUID playerUuid) {
+        History history = getHistory(playerUuid);
+        synchronized (history) {
+            return history.size;
+        }
     }
 
     /**
-     * Cleans up death location for a player when they disconnect.
+     * Saves a player's history into their player data and drops it from memory.
+     * Must run before the player data is saved and unloaded.
      */
     public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        deathLocations.remove(playerUuid);
+        History history = histories.remove(playerUuid);
+        if (history != null) {
+            save(playerUuid, history);
+        }
     }
 
     /**
-     * Stores death location data.
+     * Saves every loaded history into player data, for players still online at shutdown.
+     * Must run before the storage manager shuts down.
      */
-    public static class DeathLocation {
-        private final String worldName;
-        private final double x, y, z;
-        private final float yaw, pitch;
-
-        DeathLocation(String worldName, double x, double y, double z, float yaw, float pitch) {
-            this.worldName = worldName;
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.yaw = yaw;
-            this.pitch = pitch;
-        }
+    public void saveAll() {
+        histories.forEach(this::save);
+    }
 
-        public String getWorldName() {
-            return worldName;
+    private void save(@Nonnull UUID playerUuid, @Nonnull History history) {
+        synchronized (history) {
+            if (history.dirty) {
+                storageManager.getPlayerData(playerUuid).setBackHistory(history.toList());
+                history.dirty = false;
+            }
         }
+    }
 
-        public double getX() {
-            return x;
-        }
+    @Nonnull
+    private History getHistory(@Nonnull UUID playerUuid) {
+        History history = histories.get(playerUuid);
+        return history != null ? history : histories.computeIfAbsent(playerUuid, this::load);
+    }
 
-        public double getY() {
-            return y;
+    @Nonnull
+    private History load(@Nonnull UUID playerUuid) {
+        History history = new History();
+        // Saved oldest first, so pushing in order restores the newest as the head
+        for (BackLocation location : storageManager.getPlayerData(playerUuid).getBackHistory()) {
+            if (location.getWorld() != null) {
+                history.push(location.getWorld(), location.getX(), location.getY(), location.getZ(),
+                        location.getYaw(), location.getPitch(), location.isDeath(), location.getTime());
+            }
         }
+        history.dirty = false;
+        return history;
+    }
+
+    /**
+     * Ring buffer of one player's recent locations. Guarded by itself.
+     */
+    private static final class History {
+        private final String[] worlds = new String[HISTORY_SIZE];
+        // x, y, z per entry
+        private final double[] positions = new double[HISTORY_SIZE * 3];
+        // yaw, pitch per entry
+        private final float[] rotations = new float[HISTORY_SIZE * 2];
+        private final boolean[] deaths = new boolean[HISTORY_SIZE];
+        private final long[] times = new long[HISTORY_SIZE];
+        // Slot of the most recent entry
+        private int head = -1;
+        private int size;
+        private boolean dirty;
 
-        public double getZ() {
-            return z;
+        void push(@Nonnull String world, double x, double y, double z, float yaw, float pitch,
+                  boolean death, long time) {
+            head = (head + 1) % HISTORY_SIZE;
+            worlds[head] = world;
+            positions[head * 3] = x;
+            positions[head * 3 + 1] = y;
+            positions[head * 3 + 2] = z;
+            rotations[head * 2] = yaw;
+            rotations[head * 2 + 1] = pitch;
+            deaths[head] = death;
+            times[head] = time;
+            size = Math.min(size + 1, HISTORY_SIZE);
+            dirty = true;
         }
 
-        public float getYaw() {
-            return yaw;
+        /**
+         * @param age 0 for the most recent entry
+         */
+        @Nonnull
+        BackLocation get(int age) {
+            int slot = (head - age + HISTORY_SIZE) % HISTORY_SIZE;
+            return new BackLocation(worlds[slot], positions[slot * 3], positions[slot * 3 + 1],
+                    positions[slot * 3 + 2], rotations[slot * 2], rotations[slot * 2 + 1], deaths[slot], times[slot]);
         }
 
-        public float getPitch() {
-            return pitch;
+        /**
+         * Copies the history oldest first, for saving.
+         */
+        @Nonnull
+        List<BackLocation> toList() {
+            List<BackLocation> list = new ArrayList<>(size);
+            for (int age = size - 1; age >= 0; age--) {
+                list.add(get(age));
+            }
+            return list;
         }
     }
 }
@@ -0,0 +1,152 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Sends server-wide messages (shout, welcome broadcasts) off the calling thread.
+ * The message is built once by the caller; recipients are split into batches that are sent
+ * in parallel, so a large server doesn't stall whichever thread triggered the broadcast.
+ * Also keeps chat fan-out counters for /essentials stats.
+ */
+public class BroadcastManager {
+    private static final int BATCH_SIZE = 64;
+    private static final int THREADS = 2;
+
+    private final ExecutorService executor;
+
+    // Broadcast metrics
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder broadcastRecipients = new LongAdder();
+    private final LongAdder totalFanOutNanos = new LongAdder();
+    private final AtomicLong maxFanOutNanos = new AtomicLong();
+
+    // Chat metrics
+    private final LongAdder chatMessages = new LongAdder();
+    private final LongAdder chatRecipients = new LongAdder();
+    private final LongAdder chatFiltered = new LongAdder();
+
+    public BroadcastManager() {
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread t = new Thread(r, "Essentials-Broadcast-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Sends a message to every online player.
+     */
+    public void broadcast(@Nonnull Message message) {
+        broadcast(message, null);
+    }
+
+    /**
+     * Sends a message to every online player that passes the filter.
+     */
+    public void broadcast(@Nonnull Message message, @Nullable Predicate<PlayerRef> filter) {
+        long startNanos = System.nanoTime();
+        executor.execute(() -> {
+            List<PlayerRef> players = List.copyOf(Universe.get().getPlayers());
+            int batchCount = (players.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+            broadcasts.increment();
+            if (batchCount <= 1) {
+                sendBatch(message, filter, players);
+                recordFanOut(startNanos);
+                return;
+            }
+
+            AtomicInteger remaining = new AtomicInteger(batchCount);
+            for (int i = 0; i < players.size(); i += BATCH_SIZE) {
+                List<PlayerRef> batch = players.subList(i, Math.min(i + BATCH_SIZE, players.size()));
+                executor.execute(() -> {
+                    sendBatch(message, filter, batch);
+                    if (remaining.decrementAndGet() == 0) {
+                        recordFanOut(startNanos);
+                    }
+                });
+            }
+        });
+    }
+
+    private void sendBatch(@Nonnull Message message, @Nullable Predicate<PlayerRef> filter,
+                           @Nonnull List<PlayerRef> batch) {
+        int sent = 0;
+        for (PlayerRef player : batch) {
+            if (filter != null && !filter.test(player)) {
+                continue;
+            }
+            try {
+                player.sendMessage(message);
+                sent++;
+            } catch (Exception e) {
+                Log.warning("Failed to send broadcast to " + player.getUsername() + ": " + e.getMessage());
+            }
+        }
+        broadcastRecipients.add(sent);
+    }
+
+    private void recordFanOut(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        totalFanOutNanos.add(elapsed);
+        maxFanOutNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * Records one chat message and how many recipients were removed by filters.
+     */
+    public void recordChat(int recipients, int filtered) {
+        chatMessages.increment();
+        chatRecipients.add(recipients);
+        chatFiltered.add(filtered);
+    }
+
+    public long getBroadcastCount() {
+        return broadcasts.sum();
+    }
+
+    public long getBroadcastRecipients() {
+        return broadcastRecipients.sum();
+    }
+
+    /**
+     * Gets the average time from broadcast() to the last recipient being sent the message.
+     */
+    public long getAverageFanOutNanos() {
+        long count = broadcasts.sum();
+        return count == 0 ? 0 : totalFanOutNanos.sum() / count;
+    }
+
+    public long getMaxFanOutNanos() {
+        return maxFanOutNanos.get();
+    }
+
+    public long getChatMessageCount() {
+        return chatMessages.sum();
+    }
+
+    public long getChatRecipients() {
+        return chatRecipients.sum();
+    }
+
+    public long getChatFiltered() {
+        return chatFiltered.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
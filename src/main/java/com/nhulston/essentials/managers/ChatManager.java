@@ -1,58 +1,100 @@
 package com.nhulston.essentials.managers;
 
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.ChatTemplate;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class ChatManager {
     private static final String COLOR_PERMISSION = "essentials.chat.color";
-    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("&[0-9a-fA-F]|&#[0-9a-fA-F]{6}");
+    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("&[0-9a-fA-FlLoOnNrR]|&#[0-9a-fA-F]{6}");
+
+    // Group changes made by other plugins are picked up once an entry expires
+    private static final long RESOLVED_TTL_MILLIS = 30_000;
 
     private final ConfigManager configManager;
+    // Online player UUID -> resolved template. Entries are added on join and removed on quit, and
+    // only refreshed in between, so a late chat event can't bring back a player who has left.
+    private final ConcurrentHashMap<UUID, ResolvedFormat> resolvedFormats = new ConcurrentHashMap<>();
+
+    /**
+     * A player's resolved chat format.
+     *
+     * @param settings the chat config it was resolved against; a reload replaces it and invalidates the entry
+     */
+    private record ResolvedFormat(ConfigSnapshot.ChatSettings settings, ChatTemplate template, long expiresAt) {}
 
     public ChatManager(@Nonnull ConfigManager configManager) {
         this.configManager = configManager;
     }
 
     /**
-     * Creates a custom formatter for the PlayerChatEvent based on player's groups.
+     * Formats a chat message for a player based on their permission groups.
+     * The format itself is precompiled; only the sender's name and content are added here.
      */
     @Nonnull
-    public PlayerChatEvent.Formatter createFormatter() {
-        return this::formatMessage;
+    public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
+        ChatTemplate template = getTemplate(sender.getUuid());
+
+        // Strip color codes from message unless player has permission. Checked every message, so a
+        // revoked permission applies right away.
+        if (PermissionsModule.get().hasPermission(sender.getUuid(), COLOR_PERMISSION)) {
+            return template.render(sender.getUsername(), content, true);
+        }
+        return template.render(sender.getUsername(), stripColorCodes(content), false);
     }
 
     /**
-     * Formats a chat message for a player based on their permission groups.
+     * Resolves and caches a player's chat format when they join, ahead of their first message.
      */
-    @Nonnull
-    public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
-        String format = getFormatForPlayer(sender.getUuid());
+    public void onPlayerJoin(@Nonnull UUID playerUuid) {
+        resolvedFormats.put(playerUuid, resolve(playerUuid, configManager.getSnapshot().chat()));
+    }
+
+    /**
+     * Marks a player's cached format as stale, e.g. after their groups change, so their next
+     * message resolves it again.
+     */
+    public void invalidatePlayer(@Nonnull UUID playerUuid) {
+        resolvedFormats.computeIfPresent(playerUuid,
+                (_, resolved) -> new ResolvedFormat(resolved.settings(), resolved.template(), 0));
+    }
 
-        // Strip color codes from message unless player has permission
-        String sanitizedContent = content;
-        if (!PermissionsModule.get().hasPermission(sender.getUuid(), COLOR_PERMISSION)) {
-            sanitizedContent = stripColorCodes(content);
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        resolvedFormats.remove(playerUuid);
+    }
+
+    @Nonnull
+    private ChatTemplate getTemplate(@Nonnull UUID playerUuid) {
+        ConfigSnapshot.ChatSettings chat = configManager.getSnapshot().chat();
+        ResolvedFormat resolved = resolvedFormats.get(playerUuid);
+        if (resolved != null && resolved.settings() == chat && System.currentTimeMillis() < resolved.expiresAt()) {
+            return resolved.template();
         }
 
-        String formatted = format
-                .replace("%player%", sender.getUsername())
-                .replace("%message%", sanitizedContent);
+        ResolvedFormat fresh = resolve(playerUuid, chat);
+        // Only refresh players who are still online
+        resolvedFormats.computeIfPresent(playerUuid, (_, _) -> fresh);
+        return fresh.template();
+    }
 
-        return ColorUtil.colorize(formatted);
+    @Nonnull
+    private ResolvedFormat resolve(@Nonnull UUID playerUuid, @Nonnull ConfigSnapshot.ChatSettings chat) {
+        return new ResolvedFormat(chat, getTemplateForPlayer(playerUuid, chat),
+                System.currentTimeMillis() + RESOLVED_TTL_MILLIS);
     }
 
     /**
-     * Strips color codes (&0-&f and &#RRGGBB) from a string.
+     * Strips color and format codes (&0-&f, &#RRGGBB, &l, &o, &n, &r) from a string.
      */
     @Nonnull
     private String stripColorCodes(@Nonnull String text) {
@@ -60,31 +102,30 @@ public class ChatManager {
     }
 
     /**
-     * Gets the appropriate chat format for a player based on their permission groups.
-     * Returns the first matching group format, or the fallback if no groups match.
+     * Gets the appropriate chat template for a player based on their permission groups.
+     * Returns the first matching group's template, or the fallback if no groups match.
      */
     @Nonnull
-    private String getFormatForPlayer(@Nonnull UUID playerUuid) {
-        Map<String, String> formats = configManager.getChatFormats();
+    private ChatTemplate getTemplateForPlayer(@Nonnull UUID playerUuid, @Nonnull ConfigSnapshot.ChatSettings chat) {
+        List<ConfigSnapshot.ChatFormat> formats = chat.formats();
 
         if (formats.isEmpty()) {
-            return configManager.getChatFallbackFormat();
+            return chat.fallbackTemplate();
         }
 
         Set<String> playerGroups = PermissionsModule.get().getGroupsForUser(playerUuid);
 
-        // Check each configured format in order (LinkedHashMap preserves insertion order)
-        for (Map.Entry<String, String> entry : formats.entrySet()) {
-            String groupName = entry.getKey();
+        // Check each configured format in config order
+        for (ConfigSnapshot.ChatFormat format : formats) {
             // Check if player is in this group (case-insensitive)
             for (String playerGroup : playerGroups) {
-                if (playerGroup.equalsIgnoreCase(groupName)) {
-                    return entry.getValue();
+                if (playerGroup.equalsIgnoreCase(format.group())) {
+                    return format.template();
                 }
             }
         }
 
-        return configManager.getChatFallbackFormat();
+        return chat.fallbackTemplate();
     }
 
     /**
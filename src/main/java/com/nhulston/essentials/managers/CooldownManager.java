@@ -0,0 +1,337 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.nhulston.essentials.models.Kit;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player cooldowns for kits, /repair, /rtp and anything else that is rate limited.
+ * Cooldown names are interned to small int ids once (callers keep the id), and each player's
+ * cooldowns are a primitive array of expiry times indexed by id, so checking a cooldown is a
+ * single array read with no boxing or string handling. Cooldowns are saved in player data as
+ * name -> expiry time, and only the ones that haven't expired yet are written.
+ * Checks cap what's left at the currently configured duration, so lowering a cooldown in the
+ * config (or setting it to 0) also shortens or clears cooldowns that are already running.
+ * <p>
+ * Claims (e.g. taking a kit) check and start a cooldown in one compare-and-set, under a per-player
+ * claim flag that is never waited on, so two quick requests can't both get through.
+ */
+public class CooldownManager {
+    public static final String REPAIR = "repair";
+    public static final String RTP = "rtp";
+    private static final String KIT_PREFIX = "kit.";
+
+    public enum ClaimResult {
+        CLAIMED,
+        ON_COOLDOWN,
+        // Another claim by the same player was in progress or won the race
+        REJECTED
+    }
+
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final KitManager kitManager;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // id -> name, only grown under the ids lock
+    private volatile String[] names = new String[0];
+
+    private final ConcurrentHashMap<UUID, PlayerCooldowns> players = new ConcurrentHashMap<>();
+    private final LongAdder[] claimCounts = new LongAdder[ClaimResult.values().length];
+
+    public CooldownManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
+                           @Nonnull KitManager kitManager) {
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        this.kitManager = kitManager;
+        for (int i = 0; i < claimCounts.length; i++) {
+            claimCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the id for a cooldown name, assigning one the first time a name is seen.
+     * Ids are never reused, so callers can keep them for as long as they like.
+     */
+    public int register(@Nonnull String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            return ids.computeIfAbsent(name, _ -> {
+                String[] grown = Arrays.copyOf(names, names.length + 1);
+                grown[grown.length - 1] = name;
+                names = grown;
+                return grown.length - 1;
+            });
+        }
+    }
+
+    /**
+     * Gets the cooldown id for a kit.
+     */
+    public int registerKit(@Nonnull Kit kit) {
+        return register(KIT_PREFIX + kit.getId());
+    }
+
+    /**
+     * Gets how long a player has to wait before using something again.
+     *
+     * @param baseSeconds the currently configured cooldown, which caps what's left
+     * @return remaining seconds (rounded up), or 0 if the cooldown has expired
+     */
+    public long getRemaining(@Nonnull UUID playerUuid, int id, int baseSeconds) {
+        long remainingMillis = Math.min(getPlayer(playerUuid).get(id) - System.currentTimeMillis(),
+                getDurationMillis(playerUuid, baseSeconds));
+        return remainingMillis > 0 ? (remainingMillis + 999) / 1000 : 0;
+    }
+
+    /**
+     * Starts a cooldown, shortened or lengthened by the player's cooldown tier, and saves it.
+     */
+    public void start(@Nonnull UUID playerUuid, int id, int baseSeconds) {
+        long duration = getDurationMillis(playerUuid, baseSeconds);
+        if (duration <= 0) {
+            return;
+        }
+        PlayerCooldowns cooldowns = getPlayer(playerUuid);
+        cooldowns.set(id, System.currentTimeMillis() + duration);
+        save(playerUuid, cooldowns);
+    }
+
+    /**
+     * Starts a claim: takes the player's claim flag, then checks the cooldown and starts it in one
+     * compare-and-set. Never blocks; if the player already has a claim in progress, or another
+     * claim starts the cooldown first, the claim is rejected. When this returns CLAIMED the caller
+     * must call {@link #finishClaim} once it has handed out whatever was claimed.
+     *
+     * @param bypass start the cooldown even if it hasn't expired
+     */
+    @Nonnull
+    public ClaimResult beginClaim(@Nonnull UUID playerUuid, int id, int baseSeconds, boolean bypass) {
+        PlayerCooldowns cooldowns = getPlayer(playerUuid);
+        ClaimResult result = claim(playerUuid, cooldowns, id, baseSeconds, bypass);
+        claimCounts[result.ordinal()].increment();
+        return result;
+    }
+
+    @Nonnull
+    private ClaimResult claim(@Nonnull UUID playerUuid, @Nonnull PlayerCooldowns cooldowns, int id,
+                              int baseSeconds, boolean bypass) {
+        if (!cooldowns.claiming.compareAndSet(false, true)) {
+            return ClaimResult.REJECTED;
+        }
+
+        long now = System.currentTimeMillis();
+        long current = cooldowns.get(id);
+        long duration = getDurationMillis(playerUuid, baseSeconds);
+        if (Math.min(current, now + duration) > now && !bypass) {
+            cooldowns.claiming.set(false);
+            return ClaimResult.ON_COOLDOWN;
+        }
+
+        if (duration <= 0) {
+            return ClaimResult.CLAIMED;
+        }
+        if (!cooldowns.compareAndSet(id, current, now + duration)) {
+            cooldowns.claiming.set(false);
+            return ClaimResult.REJECTED;
+        }
+        save(playerUuid, cooldowns);
+        return ClaimResult.CLAIMED;
+    }
+
+    /**
+     * Releases the claim flag taken by a successful {@link #beginClaim}.
+     */
+    public void finishClaim(@Nonnull UUID playerUuid) {
+        PlayerCooldowns cooldowns = players.get(playerUuid);
+        if (cooldowns != null) {
+            cooldowns.claiming.set(false);
+        }
+    }
+
+    /**
+     * Gets how many claims ended with the given result.
+     */
+    public long getClaimCount(@Nonnull ClaimResult result) {
+        return claimCounts[result.ordinal()].sum();
+    }
+
+    /**
+     * Gets a cooldown's length for a player after their tier, or 0 if it is turned off.
+     */
+    private long getDurationMillis(@Nonnull UUID playerUuid, int baseSeconds) {
+        return baseSeconds > 0 ? Math.round(baseSeconds * getMultiplier(playerUuid)) * 1000 : 0;
+    }
+
+    /**
+     * Gets the cooldown multiplier of the first tier the player has. Tiers are sorted shortest
+     * first, so the first permitted tier is the best one.
+     */
+    private double getMultiplier(@Nonnull UUID playerUuid) {
+        PermissionsModule permissions = PermissionsModule.get();
+        for (ConfigSnapshot.CooldownTier tier : configManager.getCooldownSettings().tiers()) {
+            if (permissions.hasPermission(playerUuid, tier.permission())) {
+                return tier.multiplier();
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Drops a player's cooldowns from memory. They were saved when they were started.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        players.remove(playerUuid);
+    }
+
+    @Nonnull
+    private PlayerCooldowns getPlayer(@Nonnull UUID playerUuid) {
+        PlayerCooldowns cooldowns = players.get(playerUuid);
+        return cooldowns != null ? cooldowns : players.computeIfAbsent(playerUuid, this::load);
+    }
+
+    @Nonnull
+    private PlayerCooldowns load(@Nonnull UUID playerUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        PlayerCooldowns cooldowns = new PlayerCooldowns(names.length);
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<String, Long> entry : data.getCooldowns().entrySet()) {
+            Long expiry = entry.getValue();
+            if (expiry != null && expiry > now) {
+                cooldowns.set(register(entry.getKey()), expiry);
+            }
+        }
+
+        if (migrateLegacy(data, cooldowns, now)) {
+            save(playerUuid, cooldowns);
+        }
+        return cooldowns;
+    }
+
+    /**
+     * Converts last-used timestamps from older versions into expiry times.
+     *
+     * @return true if anything was migrated
+     */
+    private boolean migrateLegacy(@Nonnull PlayerData data, @Nonnull PlayerCooldowns cooldowns, long now) {
+        if (!data.hasLegacyCooldowns()) {
+            return false;
+        }
+        Long lastRepair = data.getLastRepairTime();
+        if (lastRepair != null) {
+            migrate(cooldowns, register(REPAIR), lastRepair, configManager.getRepairCooldown(), now);
+        }
+        Long lastRtp = data.getLastRtpTime();
+        if (lastRtp != null) {
+            migrate(cooldowns, register(RTP), lastRtp, configManager.getRtpCooldown(), now);
+        }
+        for (Map.Entry<String, Long> entry : data.getLegacyKitCooldowns().entrySet()) {
+            Kit kit = kitManager.getKit(entry.getKey());
+            if (kit != null && entry.getValue() != null) {
+                migrate(cooldowns, registerKit(kit), entry.getValue(), kit.getCooldown(), now);
+            }
+        }
+        data.clearLegacyCooldowns();
+        return true;
+    }
+
+    private static void migrate(@Nonnull PlayerCooldowns cooldowns, int id, long lastUsed, int seconds, long now) {
+        long expiry = lastUsed + seconds * 1000L;
+        if (expiry > now) {
+            cooldowns.set(id, expiry);
+        }
+    }
+
+    /**
+     * Writes the player's unexpired cooldowns to their player data.
+     */
+    private void save(@Nonnull UUID playerUuid, @Nonnull PlayerCooldowns cooldowns) {
+        String[] names = this.names;
+        long now = System.currentTimeMillis();
+        Map<String, Long> active = new HashMap<>();
+        for (int id = 0; id < names.length; id++) {
+            long expiry = cooldowns.get(id);
+            if (expiry > now) {
+                active.put(names[id], expiry);
+            }
+        }
+        storageManager.getPlayerData(playerUuid).setCooldowns(active);
+        storageManager.savePlayerData(playerUuid);
+    }
+
+    /**
+     * Expiry times (epoch millis, 0 = none) for one player, indexed by cooldown id.
+     * The array only grows when new cooldown names are registered.
+     */
+    private static final class PlayerCooldowns {
+        private final AtomicBoolean claiming = new AtomicBoolean();
+        private volatile AtomicLongArray expiries;
+
+        PlayerCooldowns(int size) {
+            this.expiries = new AtomicLongArray(Math.max(size, 4));
+        }
+
+        long get(int id) {
+            AtomicLongArray array = expiries;
+            return id < array.length() ? array.get(id) : 0;
+        }
+
+        void set(int id, long expiry) {
+            AtomicLongArray array;
+            do {
+                array = ensureCapacity(id);
+                array.set(id, expiry);
+                // A concurrent grow may have copied the array before this write
+            } while (array != expiries);
+        }
+
+        boolean compareAndSet(int id, long expected, long expiry) {
+            AtomicLongArray array = ensureCapacity(id);
+            if (!array.compareAndSet(id, expected, expiry)) {
+                return false;
+            }
+            if (array != expiries) {
+                // Grown since the write; make sure the new array has it too
+                set(id, expiry);
+            }
+            return true;
+        }
+
+        @Nonnull
+        private AtomicLongArray ensureCapacity(int id) {
+            AtomicLongArray array = expiries;
+            if (id < array.length()) {
+                return array;
+            }
+            synchronized (this) {
+                array = expiries;
+                if (id >= array.length()) {
+                    AtomicLongArray grown = new AtomicLongArray(Math.max(id + 1, array.length() * 2));
+                    for (int i = 0; i < array.length(); i++) {
+                        grown.set(i, array.get(i));
+                    }
+                    expiries = grown;
+                    array = grown;
+                }
+                return array;
+            }
+        }
+    }
+}
@@ -2,13 +2,14 @@ package com.nhulston.essentials.managers;
 
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.nhulston.essentials.models.Home;
+import com.nhulston.essentials.models.HomeIndex;
 import com.nhulston.essentials.models.PlayerData;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
 import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -16,7 +17,6 @@ public class HomeManager {
     private static final Pattern VALID_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9]+$");
     private static final int MAX_NAME_LENGTH = 16;
     private static final String DEFAULT_HOME_NAME = "home";
-    private static final String HOME_LIMIT_PERMISSION_PREFIX = "essentials.homes.";
 
     private final StorageManager storageManager;
     private final ConfigManager configManager;
@@ -33,23 +33,17 @@ public class HomeManager {
 
     /**
      * Gets the maximum number of homes for a player based on their permissions.
-     * Checks each configured tier and returns the highest limit the player has permission for.
+     * Tiers are sorted highest limit first, so the first tier the player has is the answer.
+     * Not cached, so a newly granted tier applies right away.
      */
     public int getMaxHomes(@Nonnull UUID playerUuid) {
-        Map<String, Integer> limits = configManager.getHomeLimits();
-        int maxLimit = 0;
-
-        for (Map.Entry<String, Integer> entry : limits.entrySet()) {
-            String tier = entry.getKey();
-            int limit = entry.getValue();
-            String permission = HOME_LIMIT_PERMISSION_PREFIX + tier;
-
-            if (PermissionsModule.get().hasPermission(playerUuid, permission)) {
-                maxLimit = Math.max(maxLimit, limit);
+        PermissionsModule permissions = PermissionsModule.get();
+        for (ConfigSnapshot.HomeTier tier : configManager.getSnapshot().homes().tiers()) {
+            if (permissions.hasPermission(playerUuid, tier.permission())) {
+                return tier.limit();
             }
         }
-
-        return maxLimit;
+        return 0;
     }
 
     @Nullable
@@ -94,9 +88,12 @@ public class HomeManager {
         return storageManager.getPlayerData(playerUuid).getHome(name);
     }
 
+    /**
+     * Gets the index of a player's homes, for listing, name matching and nearest-home lookups.
+     */
     @Nonnull
-    public Map<String, Home> getHomes(@Nonnull UUID playerUuid) {
-        return storageManager.getPlayerData(playerUuid).getHomes();
+    public HomeIndex getHomeIndex(@Nonnull UUID playerUuid) {
+        return storageManager.getPlayerData(playerUuid).getHomeIndex();
     }
 
     public boolean deleteHome(@Nonnull UUID playerUuid, @Nonnull String name) {
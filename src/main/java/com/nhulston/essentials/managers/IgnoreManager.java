@@ -0,0 +1,123 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages player ignore lists.
+ * Ignore lists are stored in player data; while players are online they are also indexed by
+ * the ignored player, so filtering a chat message only needs one lookup for the sender.
+ */
+public class IgnoreManager {
+    private final StorageManager storageManager;
+
+    // Ignored player UUID -> online players who ignore them
+    private final ConcurrentHashMap<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    public IgnoreManager(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    /**
+     * Indexes a player's ignore list when they join.
+     */
+    public void onPlayerJoin(@Nonnull UUID playerUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        for (String ignored : data.getIgnoredPlayers().keySet()) {
+            try {
+                index(UUID.fromString(ignored), playerUuid);
+            } catch (IllegalArgumentException e) {
+                // Skip malformed entries in hand-edited player files
+            }
+        }
+    }
+
+    /**
+     * Removes a leaving player from the index. Must run before their player data is unloaded.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        for (String ignored : data.getIgnoredPlayers().keySet()) {
+            try {
+                unindex(UUID.fromString(ignored), playerUuid);
+            } catch (IllegalArgumentException e) {
+                // Skip malformed entries
+            }
+        }
+    }
+
+    /**
+     * Toggles whether a player ignores another player.
+     *
+     * @return true if the target is now ignored, false if they were un-ignored
+     */
+    public boolean toggleIgnore(@Nonnull UUID playerUuid, @Nonnull UUID targetUuid, @Nonnull String targetName) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        boolean nowIgnored;
+        if (data.isIgnoring(targetUuid)) {
+            data.unignore(targetUuid);
+            unindex(targetUuid, playerUuid);
+            nowIgnored = false;
+        } else {
+            data.ignore(targetUuid, targetName);
+            index(targetUuid, playerUuid);
+            nowIgnored = true;
+        }
+        storageManager.savePlayerData(playerUuid);
+        return nowIgnored;
+    }
+
+    private void index(@Nonnull UUID ignoredUuid, @Nonnull UUID playerUuid) {
+        ignoredBy.compute(ignoredUuid, (_, ignorers) -> {
+            Set<UUID> updated = ignorers != null ? ignorers : ConcurrentHashMap.newKeySet();
+            updated.add(playerUuid);
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a player from an ignored player's set, and the set itself once it is empty,
+     * so the index only holds players someone online is ignoring.
+     */
+    private void unindex(@Nonnull UUID ignoredUuid, @Nonnull UUID playerUuid) {
+        ignoredBy.computeIfPresent(ignoredUuid, (_, ignorers) -> {
+            ignorers.remove(playerUuid);
+            return ignorers.isEmpty() ? null : ignorers;
+        });
+    }
+
+    /**
+     * Checks if an online recipient ignores a sender.
+     */
+    public boolean isIgnoring(@Nonnull UUID recipientUuid, @Nonnull UUID senderUuid) {
+        Set<UUID> ignorers = ignoredBy.get(senderUuid);
+        return ignorers != null && ignorers.contains(recipientUuid);
+    }
+
+    /**
+     * Removes recipients who ignore the sender.
+     * Returns the input list itself when nobody ignores the sender, which is the common case.
+     */
+    @Nonnull
+    public List<PlayerRef> filterRecipients(@Nonnull UUID senderUuid, @Nonnull List<PlayerRef> recipients) {
+        Set<UUID> ignorers = ignoredBy.get(senderUuid);
+        if (ignorers == null || ignorers.isEmpty()) {
+            return recipients;
+        }
+        List<PlayerRef> filtered = new ArrayList<>(recipients.size());
+        for (PlayerRef recipient : recipients) {
+            if (!ignorers.contains(recipient.getUuid())) {
+                filtered.add(recipient);
+            }
+        }
+        return filtered;
+    }
+}
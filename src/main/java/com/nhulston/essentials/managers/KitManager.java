@@ -1,10 +1,16 @@
 package com.nhulston.essentials.managers;
 
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.entity.ItemUtils;
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.models.Kit;
 import com.nhulston.essentials.models.KitItem;
-import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.models.KitPlan;
 import com.nhulston.essentials.util.Log;
-import com.nhulston.essentials.util.StorageManager;
 import org.tomlj.Toml;
 import org.tomlj.TomlArray;
 import org.tomlj.TomlParseResult;
@@ -14,50 +20,71 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages kit loading, saving, and application.
+ * Kits are read from kits.toml and from one file per kit in kits/. Kits created in-game are
+ * written to their own file, so creating or deleting a kit only touches that kit's data and
+ * never rewrites kits.toml (a kit that only exists in kits.toml is cut out of it, leaving
+ * the rest of the file and its comments as they were). All file access after startup runs
+ * on a single writer thread, so concurrent edits and reloads are applied in order.
  */
 public class KitManager {
     private final Path kitsPath;
-    private final StorageManager storageManager;
-    private final Map<String, Kit> kits;
-    private String fileHeader;
-
-    public KitManager(@Nonnull Path dataFolder, @Nonnull StorageManager storageManager) {
+    private final Path kitsFolder;
+    private final ExecutorService ioExecutor;
+    // Immutable; replaced as a whole on reload or edit so readers never need a lock
+    private volatile Map<String, Kit> kits;
+    // The same kits in order; a new list instance means the kit set changed
+    private volatile List<Kit> kitList;
+    // Last kits.toml content read or written by this manager, so our own saves don't trigger a reload
+    private String loadedContent;
+
+    public KitManager(@Nonnull Path dataFolder) {
         this.kitsPath = dataFolder.resolve("kits.toml");
-        this.storageManager = storageManager;
-        this.kits = new LinkedHashMap<>();
-        this.fileHeader = "";
-        load();
+        this.kitsFolder = dataFolder.resolve("kits");
+        this.kits = Map.of();
+        this.kitList = List.of();
+        this.ioExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Essentials-Kits");
+            t.setDaemon(true);
+            return t;
+        });
+        load(true);
     }
 
     /**
-     * Loads kits from kits.toml
+     * Loads kits from kits.toml and the kits folder. Only runs on the writer thread after startup.
+     *
+     * @param force reload even if kits.toml hasn't changed (the kits folder isn't watched)
      */
-    private void load() {
+    private void load(boolean force) {
         if (!Files.exists(kitsPath)) {
             createDefault();
         }
 
         try {
-            // Read and cache the file header (everything before [kits])
             String fileContent = Files.readString(kitsPath);
-            int kitsIndex = fileContent.indexOf("[kits]");
-            if (kitsIndex > 0) {
-                fileHeader = fileContent.substring(0, kitsIndex);
+            if (!force && fileContent.equals(loadedContent)) {
+                return;
             }
 
-            TomlParseResult config = Toml.parse(kitsPath);
+            long startTime = System.nanoTime();
+            TomlParseResult config = Toml.parse(fileContent);
 
             if (config.hasErrors()) {
                 config.errors().forEach(error -> Log.error("Kits config error: " + error.toString()));
@@ -65,56 +92,137 @@ public class KitManager {
                 return;
             }
 
+            Map<String, Kit> loaded = new LinkedHashMap<>();
             TomlTable kitsTable = config.getTable("kits");
-            if (kitsTable == null) {
-                Log.info("No kits configured in kits.toml");
-                return;
+            if (kitsTable != null) {
+                for (String kitId : kitsTable.keySet()) {
+                    TomlTable kitTable = kitsTable.getTable(kitId);
+                    if (kitTable != null) {
+                        Kit kit = parseKit(kitId, kitTable);
+                        loaded.put(kit.getId(), kit);
+                    }
+                }
             }
+            int fileKits = loadKitFiles(loaded);
 
-            kits.clear();
-            for (String kitId : kitsTable.keySet()) {
-                TomlTable kitTable = kitsTable.getTable(kitId);
-                if (kitTable == null) continue;
-
-                String displayName = kitTable.getString("display-name", () -> kitId);
-                int cooldown = Math.toIntExact(kitTable.getLong("cooldown", () -> 0L));
-                String type = kitTable.getString("type", () -> "add");
+            Map<String, Kit> previous = kits;
+            setKits(loaded);
+            loadedContent = fileContent;
 
-                List<KitItem> items = new ArrayList<>();
-                TomlArray itemsArray = kitTable.getArray("items");
-                if (itemsArray != null) {
-                    for (int i = 0; i < itemsArray.size(); i++) {
-                        TomlTable itemTable = itemsArray.getTable(i);
-                        if (itemTable == null) continue;
-
-                        String itemId = itemTable.getString("item-id");
-                        if (itemId == null) continue;
-
-                        int quantity = Math.toIntExact(itemTable.getLong("quantity", () -> 1L));
-                        String section = itemTable.getString("section", () -> "hotbar");
-                        int slot = Math.toIntExact(itemTable.getLong("slot", () -> 0L));
+            long elapsedMicros = (System.nanoTime() - startTime) / 1000;
+            Log.info("Loaded " + loaded.size() + " kits from kits.toml"
+                    + (fileKits > 0 ? " and " + fileKits + " kit files" : "") + " in "
+                    + String.format("%.1f ms", elapsedMicros / 1000.0) + describeChanges(previous, loaded));
+        } catch (IOException e) {
+            Log.error("Failed to load kits: " + e.getMessage());
+        }
+    }
 
-                        items.add(new KitItem(itemId, quantity, section, slot));
-                    }
+    /**
+     * Loads kits/&lt;id&gt;.toml files into the map. A kit file replaces a kit of the same name in kits.toml.
+     *
+     * @return the number of kit files loaded
+     */
+    private int loadKitFiles(@Nonnull Map<String, Kit> loaded) {
+        if (!Files.isDirectory(kitsFolder)) {
+            return 0;
+        }
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(kitsFolder, "*.toml")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String kitId = fileName.substring(0, fileName.length() - ".toml".length());
+                TomlParseResult kitConfig = Toml.parse(Files.readString(file));
+                if (kitConfig.hasErrors()) {
+                    kitConfig.errors().forEach(error -> Log.error("Kit " + fileName + " error: " + error.toString()));
+                    continue;
                 }
+                Kit kit = parseKit(kitId, kitConfig);
+                loaded.put(kit.getId(), kit);
+                count++;
+            }
+        } catch (IOException e) {
+            Log.error("Failed to load kit files: " + e.getMessage());
+        }
+        return count;
+    }
 
-                Kit kit = new Kit(kitId.toLowerCase(), displayName, cooldown, type, items);
-                kits.put(kitId.toLowerCase(), kit);
-                Log.info("Loaded kit: " + kitId + " with " + items.size() + " items");
+    @Nonnull
+    private static Kit parseKit(@Nonnull String kitId, @Nonnull TomlTable kitTable) {
+        String displayName = kitTable.getString("display-name", () -> kitId);
+        int cooldown = Math.toIntExact(kitTable.getLong("cooldown", () -> 0L));
+        String type = kitTable.getString("type", () -> "add");
+
+        List<KitItem> items = new ArrayList<>();
+        TomlArray itemsArray = kitTable.getArray("items");
+        if (itemsArray != null) {
+            for (int i = 0; i < itemsArray.size(); i++) {
+                TomlTable itemTable = itemsArray.getTable(i);
+                if (itemTable == null) continue;
+
+                String itemId = itemTable.getString("item-id");
+                if (itemId == null) continue;
+
+                int quantity = Math.toIntExact(itemTable.getLong("quantity", () -> 1L));
+                String section = itemTable.getString("section", () -> "hotbar");
+                int slot = Math.toIntExact(itemTable.getLong("slot", () -> 0L));
+
+                items.add(new KitItem(itemId, quantity, section, slot));
             }
+        }
 
-            Log.info("Loaded " + kits.size() + " kits from kits.toml");
-        } catch (IOException e) {
-            Log.error("Failed to load kits: " + e.getMessage());
+        return new Kit(kitId.toLowerCase(), displayName, cooldown, type, items);
+    }
+
+    /**
+     * Summarizes which kits were added, removed or changed between two loads.
+     */
+    @Nonnull
+    private static String describeChanges(@Nonnull Map<String, Kit> previous, @Nonnull Map<String, Kit> current) {
+        if (previous.isEmpty()) {
+            return "";
+        }
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, Kit> entry : current.entrySet()) {
+            Kit old = previous.get(entry.getKey());
+            if (old == null) {
+                changes.add("+" + entry.getKey());
+            } else if (!old.equals(entry.getValue())) {
+                changes.add("~" + entry.getKey());
+            }
+        }
+        for (String id : previous.keySet()) {
+            if (!current.containsKey(id)) {
+                changes.add("-" + id);
+            }
         }
+        return changes.isEmpty() ? " (no kit changes)" : " (" + String.join(", ", changes) + ")";
     }
 
     /**
-     * Reloads kits from kits.toml
+     * Reloads kits from kits.toml and the kits folder
      */
     public void reload() {
         Log.info("Reloading kits...");
-        load();
+        runOnWriter(() -> load(true));
+    }
+
+    /**
+     * Reloads kits after an external edit. Does nothing if the file content hasn't changed.
+     */
+    public void reloadIfChanged() {
+        runOnWriter(() -> load(false));
+    }
+
+    /**
+     * Runs a task on the writer thread and waits for it, so a reload sees every earlier save.
+     */
+    private void runOnWriter(@Nonnull Runnable task) {
+        try {
+            CompletableFuture.runAsync(task, ioExecutor).join();
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
     }
 
     /**
@@ -138,53 +246,48 @@ public class KitManager {
     }
 
     /**
-     * Creates a new kit and saves it to kits.toml
+     * Creates a new kit and saves it to kits/&lt;id&gt;.toml
      */
     public void createKit(@Nonnull String kitId, @Nonnull List<KitItem> items) {
         String id = kitId.toLowerCase();
         String displayName = capitalize(kitId);
-        
+
         Kit kit = new Kit(id, displayName, 0, "add", items);
-        kits.put(id, kit);
-        
-        saveKitAsync(kit);
+        putKit(kit);
+        ioExecutor.execute(() -> {
+            writeKitFile(kit);
+            // Re-apply in case a reload ran between the change and the write
+            putKit(kit);
+        });
     }
 
     /**
-     * Saves a kit to kits.toml (appends to existing file)
+     * Writes a kit to its own file, replacing the file atomically.
      */
-    private void saveKitAsync(@Nonnull Kit kit) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                StringBuilder toml = new StringBuilder();
-                
-                // Read existing content
-                String existing = "";
-                if (Files.exists(kitsPath)) {
-                    existing = Files.readString(kitsPath);
-                }
-                
-                // Build kit TOML
-                toml.append("\n[kits.").append(kit.getId()).append("]\n");
-                toml.append("display-name = \"").append(escapeToml(kit.getDisplayName())).append("\"\n");
-                toml.append("cooldown = ").append(kit.getCooldown()).append("\n");
-                toml.append("type = \"").append(kit.getType()).append("\"\n");
-                
-                for (KitItem item : kit.getItems()) {
-                    toml.append("\n[[kits.").append(kit.getId()).append(".items]]\n");
-                    toml.append("item-id = \"").append(escapeToml(item.itemId())).append("\"\n");
-                    toml.append("quantity = ").append(item.quantity()).append("\n");
-                    toml.append("section = \"").append(item.section()).append("\"\n");
-                    toml.append("slot = ").append(item.slot()).append("\n");
-                }
-                
-                // Append to file
-                Files.writeString(kitsPath, existing + toml);
-                Log.info("Saved kit: " + kit.getId());
-            } catch (IOException e) {
-                Log.error("Failed to save kit " + kit.getId() + ": " + e.getMessage());
-            }
-        });
+    private void writeKitFile(@Nonnull Kit kit) {
+        StringBuilder toml = new StringBuilder();
+        toml.append("display-name = \"").append(escapeToml(kit.getDisplayName())).append("\"\n");
+        toml.append("cooldown = ").append(kit.getCooldown()).append("\n");
+        toml.append("type = \"").append(kit.getType()).append("\"\n");
+
+        for (KitItem item : kit.getItems()) {
+            toml.append("\n[[items]]\n");
+            toml.append("item-id = \"").append(escapeToml(item.itemId())).append("\"\n");
+            toml.append("quantity = ").append(item.quantity()).append("\n");
+            toml.append("section = \"").append(item.section()).append("\"\n");
+            toml.append("slot = ").append(item.slot()).append("\n");
+        }
+
+        try {
+            Files.createDirectories(kitsFolder);
+            Path file = getKitFile(kit.getId());
+            Path temp = kitsFolder.resolve(kit.getId() + ".toml.tmp");
+            Files.writeString(temp, toml);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Log.info("Saved kit: " + kit.getId());
+        } catch (IOException e) {
+            Log.error("Failed to save kit " + kit.getId() + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -196,85 +299,204 @@ public class KitManager {
     }
 
     /**
-     * Gets all loaded kits
+     * Gets all loaded kits. The list is immutable and only replaced when kits change,
+     * so callers can cache anything derived from it by identity.
      */
     @Nonnull
-    public Collection<Kit> getKits() {
-        return kits.values();
+    public List<Kit> getKits() {
+        return kitList;
     }
 
     /**
-     * Deletes a kit and removes it from kits.toml
+     * Deletes a kit, removing its file or its section of kits.toml
      */
     public void deleteKit(@Nonnull String kitId) {
         String id = kitId.toLowerCase();
-        kits.remove(id);
-        
-        // Rewrite the entire kits.toml file without the deleted kit
-        saveAllKitsAsync();
+        removeKit(id);
+        ioExecutor.execute(() -> {
+            deleteKitData(id);
+            removeKit(id);
+        });
     }
 
-    /**
-     * Saves all kits to kits.toml (rewrites entire file)
-     */
-    private void saveAllKitsAsync() {
-        CompletableFuture.runAsync(() -> {
-            try {
-                StringBuilder toml = new StringBuilder();
-                toml.append(fileHeader);
-                toml.append("[kits]\n");
-
-                for (Kit kit : kits.values()) {
-                    toml.append("\n[kits.").append(kit.getId()).append("]\n");
-                    toml.append("display-name = \"").append(escapeToml(kit.getDisplayName())).append("\"\n");
-                    toml.append("cooldown = ").append(kit.getCooldown()).append("\n");
-                    toml.append("type = \"").append(kit.getType()).append("\"\n");
-
-                    for (KitItem item : kit.getItems()) {
-                        toml.append("\n[[kits.").append(kit.getId()).append(".items]]\n");
-                        toml.append("item-id = \"").append(escapeToml(item.itemId())).append("\"\n");
-                        toml.append("quantity = ").append(item.quantity()).append("\n");
-                        toml.append("section = \"").append(item.section()).append("\"\n");
-                        toml.append("slot = ").append(item.slot()).append("\n");
-                    }
-                }
+    private void deleteKitData(@Nonnull String id) {
+        try {
+            if (Files.deleteIfExists(getKitFile(id))) {
+                Log.info("Deleted kit: " + id);
+            }
+        } catch (IOException e) {
+            Log.error("Failed to delete kit file " + id + ": " + e.getMessage());
+        }
 
-                Files.writeString(kitsPath, toml.toString());
-                Log.info("Saved all kits to kits.toml");
-            } catch (IOException e) {
-                Log.error("Failed to save kits: " + e.getMessage());
+        try {
+            if (!Files.exists(kitsPath)) {
+                return;
             }
-        });
+            String content = Files.readString(kitsPath);
+            String updated = removeKitSection(content, id);
+            if (!updated.equals(content)) {
+                loadedContent = updated;
+                Files.writeString(kitsPath, updated);
+                Log.info("Removed kit " + id + " from kits.toml");
+            }
+        } catch (IOException e) {
+            Log.error("Failed to remove kit " + id + " from kits.toml: " + e.getMessage());
+        }
     }
 
     /**
-     * Checks if a player is on cooldown for a kit
-     * @return remaining cooldown in seconds, or 0 if not on cooldown
+     * Cuts a kit's [kits.id] table and [[kits.id.items]] entries out of kits.toml, keeping every
+     * other line (including comments and the file header) exactly as written.
+     * The cut ends at the kit's last key/value line, so blank lines and comments between it and the
+     * next table stay, since they usually describe what follows.
      */
-    public long getRemainingCooldown(@Nonnull UUID playerUuid, @Nonnull String kitId) {
-        Kit kit = getKit(kitId);
-        if (kit == null || kit.getCooldown() <= 0) {
-            return 0;
+    @Nonnull
+    private static String removeKitSection(@Nonnull String content, @Nonnull String id) {
+        String table = "[kits." + id + "]";
+        String items = "[[kits." + id + ".items]]";
+
+        StringBuilder result = new StringBuilder(content.length());
+        // Blank and comment lines seen while skipping, kept only if no more of the kit follows
+        StringBuilder trailing = new StringBuilder();
+        boolean skipping = false;
+        int start = 0;
+        while (start < content.length()) {
+            int end = content.indexOf('\n', start);
+            end = end < 0 ? content.length() : end + 1;
+            String line = content.substring(start, end).strip();
+            if (line.startsWith("[")) {
+                boolean kitTable = line.equalsIgnoreCase(table) || line.equalsIgnoreCase(items);
+                if (kitTable && !skipping) {
+                    trimTrailingBlankLine(result);
+                } else if (!kitTable && skipping) {
+                    result.append(trailing);
+                }
+                trailing.setLength(0);
+                skipping = kitTable;
+            }
+            if (!skipping) {
+                result.append(content, start, end);
+            } else if (line.isEmpty() || line.startsWith("#")) {
+                trailing.append(content, start, end);
+            } else {
+                trailing.setLength(0);
+            }
+            start = end;
+        }
+        result.append(trailing);
+        return result.toString();
+    }
+
+    private static void trimTrailingBlankLine(@Nonnull StringBuilder text) {
+        int length = text.length();
+        if (length >= 2 && text.charAt(length - 1) == '\n' && text.charAt(length - 2) == '\n') {
+            text.setLength(length - 1);
         }
+    }
 
-        PlayerData data = storageManager.getPlayerData(playerUuid);
-        Long lastUsed = data.getKitCooldown(kitId.toLowerCase());
-        if (lastUsed == null) {
-            return 0;
+    private synchronized void putKit(@Nonnull Kit kit) {
+        if (kit.equals(kits.get(kit.getId()))) {
+            return;
         }
+        Map<String, Kit> updated = new LinkedHashMap<>(kits);
+        updated.put(kit.getId(), kit);
+        setKits(updated);
+    }
 
-        long elapsed = (System.currentTimeMillis() - lastUsed) / 1000;
-        long remaining = kit.getCooldown() - elapsed;
-        return Math.max(0, remaining);
+    private synchronized void removeKit(@Nonnull String id) {
+        if (!kits.containsKey(id)) {
+            return;
+        }
+        Map<String, Kit> updated = new LinkedHashMap<>(kits);
+        updated.remove(id);
+        setKits(updated);
+    }
+
+    private synchronized void setKits(@Nonnull Map<String, Kit> updated) {
+        kits = Collections.unmodifiableMap(updated);
+        kitList = List.copyOf(updated.values());
+    }
+
+    @Nonnull
+    private Path getKitFile(@Nonnull String id) {
+        return kitsFolder.resolve(id + ".toml");
+    }
+
+    /**
+     * Finishes pending kit writes.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                Log.warning("Timed out waiting for kits to be saved.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
-     * Sets the cooldown timestamp for a player's kit usage
+     * Gives a kit to a player in one pass over its compiled plan. Items go in their saved slot when
+     * it is free, otherwise wherever they fit; anything left over is dropped at the player's feet.
+     * The caller syncs the inventory to the client once afterwards.
      */
-    public void setKitUsed(@Nonnull UUID playerUuid, @Nonnull String kitId) {
-        PlayerData data = storageManager.getPlayerData(playerUuid);
-        data.setKitCooldown(kitId.toLowerCase(), System.currentTimeMillis());
-        storageManager.savePlayerData(playerUuid);
+    public void applyKit(@Nonnull Kit kit, @Nonnull Inventory inventory,
+                         @Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        KitPlan plan = kit.getPlan();
+        if (plan.isReplace()) {
+            inventory.clear();
+        }
+
+        // Containers are looked up once per claim rather than once per item
+        ItemContainer[] containers = new ItemContainer[KitItem.Section.values().length];
+        ItemContainer combined = null;
+
+        for (int i = 0; i < plan.size(); i++) {
+            ItemStack item = plan.getItem(i);
+            KitItem.Section section = plan.getSection(i);
+
+            ItemContainer container = null;
+            if (section != null) {
+                container = containers[section.ordinal()];
+                if (container == null) {
+                    container = getContainer(inventory, section);
+                    containers[section.ordinal()] = container;
+                }
+                short slot = plan.getSlot(i);
+                if (slot >= 0 && slot < container.getCapacity()) {
+                    ItemStack existing = container.getItemStack(slot);
+                    if (existing == null || existing.isEmpty()) {
+                        container.setItemStackForSlot(slot, item);
+                        continue;
+                    }
+                }
+            }
+
+            // Slot taken or no section: hotbar/storage items go anywhere in their own container,
+            // everything else anywhere in the hotbar/storage
+            if (container == null || section.isFallbackToCombined()) {
+                if (combined == null) {
+                    combined = inventory.getCombinedHotbarFirst();
+                }
+                container = combined;
+            }
+            ItemStack remainder = container.addItemStack(item).getRemainder();
+            if (remainder != null && !remainder.isEmpty()) {
+                ItemUtils.dropItem(ref, remainder, store);
+            }
+        }
+    }
+
+    @Nonnull
+    private static ItemContainer getContainer(@Nonnull Inventory inventory, @Nonnull KitItem.Section section) {
+        return switch (section) {
+            case HOTBAR -> inventory.getHotbar();
+            case STORAGE -> inventory.getStorage();
+            case ARMOR -> inventory.getArmor();
+            case UTILITY -> inventory.getUtility();
+            case TOOLS -> inventory.getTools();
+        };
     }
 
     private static String capitalize(String str) {
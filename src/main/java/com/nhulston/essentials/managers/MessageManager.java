@@ -0,0 +1,339 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Private messages, /reply conversations and offline mail.
+ * Conversation partners are only kept for online players. Mail for offline players is appended
+ * to mail/&lt;uuid&gt;.log and only read back when the recipient joins, then delivered as one message.
+ * All mail file access runs on a single thread, so appends and deliveries never interleave.
+ * That thread never reads player data; anything it needs from it is copied before handing off.
+ */
+public class MessageManager {
+    private static final String INFO_COLOR = "#FFFF55";
+    private static final String WHITE = "#FFFFFF";
+    private static final String GRAY = "#AAAAAA";
+
+    // Mailboxes stop accepting mail at this size (roughly a few hundred messages)
+    private static final long MAX_MAILBOX_BYTES = 64 * 1024;
+
+    /**
+     * The player someone last messaged or was messaged by.
+     */
+    public record Conversation(@Nonnull UUID partnerUuid, @Nonnull String partnerName) {}
+
+    private final Path mailFolder;
+    private final Path namesFile;
+    private final StorageManager storageManager;
+    private final IgnoreManager ignoreManager;
+    private final AntiSpamManager antiSpamManager;
+    private final ExecutorService ioExecutor;
+
+    // Online player UUID -> last conversation
+    private final ConcurrentHashMap<UUID, Conversation> conversations = new ConcurrentHashMap<>();
+    // Lower-cased name -> UUID of every player who has joined, for mailing offline players
+    private final ConcurrentHashMap<String, UUID> knownPlayers = new ConcurrentHashMap<>();
+    // Players with a mail file waiting, so joins without mail never touch the disk
+    private final Set<UUID> pendingMail = ConcurrentHashMap.newKeySet();
+    // Approximate mailbox sizes, tracked from the file size on first append. Only used on the mail thread.
+    private final Map<UUID, Long> mailboxSizes = new HashMap<>();
+
+    public MessageManager(@Nonnull Path dataFolder, @Nonnull StorageManager storageManager,
+                          @Nonnull IgnoreManager ignoreManager, @Nonnull AntiSpamManager antiSpamManager) {
+        this.mailFolder = dataFolder.resolve("mail");
+        this.namesFile = dataFolder.resolve("usernames.log");
+        this.storageManager = storageManager;
+        this.ignoreManager = ignoreManager;
+        this.antiSpamManager = antiSpamManager;
+        this.ioExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Essentials-Mail");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            Files.createDirectories(mailFolder);
+        } catch (IOException e) {
+            Log.error("Failed to create mail folder: " + e.getMessage());
+        }
+        loadKnownPlayers();
+        loadPendingMail();
+    }
+
+    // Private messages
+
+    /**
+     * Sends a private message to an online player and tracks the conversation for /reply.
+     */
+    public void sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, @Nonnull String message) {
+        if (!antiSpamManager.allowMessage(sender, target.getUuid(), message)) {
+            return;
+        }
+
+        // Ignored senders still see their confirmation, so ignoring isn't revealed
+        boolean ignored = ignoreManager.isIgnoring(target.getUuid(), sender.getUuid());
+        if (!ignored) {
+            Msg.info(target, "[From " + sender.getUsername() + "] " + message);
+        }
+        Msg.info(sender, "[To " + target.getUsername() + "] " + message);
+
+        conversations.put(sender.getUuid(), new Conversation(target.getUuid(), target.getUsername()));
+        if (!ignored) {
+            conversations.put(target.getUuid(), new Conversation(sender.getUuid(), sender.getUsername()));
+        }
+    }
+
+    /**
+     * Gets who a player last talked to, or null.
+     */
+    @Nullable
+    public Conversation getConversation(@Nonnull UUID playerUuid) {
+        return conversations.get(playerUuid);
+    }
+
+    // Offline mail
+
+    /**
+     * Gets the UUID of a player who has joined before, by name (case-insensitive).
+     */
+    @Nullable
+    public UUID getKnownPlayer(@Nonnull String name) {
+        return knownPlayers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Queues mail for an offline player. It is delivered the next time they join.
+     * The mailbox size check and the write happen on the mail thread, which tells the sender
+     * whether the mail was sent or the mailbox is full.
+     */
+    public void sendMail(@Nonnull PlayerRef sender, @Nonnull UUID targetUuid, @Nonnull String targetName,
+                         @Nonnull String message) {
+        if (!antiSpamManager.allowMessage(sender, targetUuid, message)) {
+            return;
+        }
+
+        // One line per mail: time, sender UUID, sender name, message
+        String line = System.currentTimeMillis() + "\t" + sender.getUuid() + "\t" + sender.getUsername() + "\t"
+                + message.replace('\n', ' ').replace('\r', ' ') + "\n";
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+        ioExecutor.execute(() -> {
+            long size = mailboxSizes.computeIfAbsent(targetUuid, this::readMailboxSize);
+            if (size + bytes.length > MAX_MAILBOX_BYTES) {
+                Msg.fail(sender, targetName + "'s mailbox is full.");
+                return;
+            }
+            try {
+                Files.write(getMailFile(targetUuid), bytes,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                Log.error("Failed to write mail for " + targetName + ": " + e.getMessage());
+                Msg.fail(sender, "Failed to send mail to " + targetName + ".");
+                return;
+            }
+            mailboxSizes.merge(targetUuid, (long) bytes.length, Long::sum);
+            pendingMail.add(targetUuid);
+            Msg.info(sender, "[To " + targetName + " (offline)] " + message);
+        });
+
+        conversations.put(sender.getUuid(), new Conversation(targetUuid, targetName));
+    }
+
+    /**
+     * Records the player's name and delivers any mail waiting for them.
+     */
+    public void onPlayerJoin(@Nonnull PlayerRef player) {
+        UUID uuid = player.getUuid();
+        String name = player.getUsername();
+        if (!uuid.equals(knownPlayers.put(name.toLowerCase(Locale.ROOT), uuid))) {
+            ioExecutor.execute(() -> appendKnownPlayer(uuid, name));
+        }
+
+        if (pendingMail.remove(uuid)) {
+            // Copy the ignore list here, so the mail thread doesn't read player data
+            Set<UUID> ignored = new HashSet<>();
+            for (String ignoredUuid : storageManager.getPlayerData(uuid).getIgnoredPlayers().keySet()) {
+                try {
+                    ignored.add(UUID.fromString(ignoredUuid));
+                } catch (IllegalArgumentException e) {
+                    // Skip malformed entries
+                }
+            }
+            ioExecutor.execute(() -> deliverMail(player, ignored));
+        }
+    }
+
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        conversations.remove(playerUuid);
+    }
+
+    private void deliverMail(@Nonnull PlayerRef player, @Nonnull Set<UUID> ignored) {
+        UUID uuid = player.getUuid();
+        Path file = getMailFile(uuid);
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            Log.warning("Failed to read mail for " + player.getUsername() + ": " + e.getMessage());
+            pendingMail.add(uuid);
+            return;
+        }
+        mailboxSizes.remove(uuid);
+
+        List<Message> parts = new ArrayList<>();
+        int count = 0;
+        for (String line : lines) {
+            String[] fields = line.split("\t", 4);
+            if (fields.length < 4 || isIgnoringSender(ignored, fields[1])) {
+                continue;
+            }
+            parts.add(Message.raw("\n[From " + fields[2] + "] ").color(GRAY));
+            parts.add(Message.raw(fields[3]).color(WHITE));
+            count++;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        // Send everything as one message instead of one packet per mail
+        parts.addFirst(Message.raw("You received " + count + (count == 1 ? " message" : " messages")
+                + " while you were away:").color(INFO_COLOR));
+        player.sendMessage(Message.join(parts.toArray(new Message[0])));
+    }
+
+    private static boolean isIgnoringSender(@Nonnull Set<UUID> ignored, @Nonnull String senderUuid) {
+        try {
+            return ignored.contains(UUID.fromString(senderUuid));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private long readMailboxSize(@Nonnull UUID playerUuid) {
+        try {
+            Path file = getMailFile(playerUuid);
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Nonnull
+    private Path getMailFile(@Nonnull UUID playerUuid) {
+        return mailFolder.resolve(playerUuid + ".log");
+    }
+
+    private void loadPendingMail() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(mailFolder, "*.log")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                try {
+                    pendingMail.add(UUID.fromString(fileName.substring(0, fileName.length() - 4)));
+                } catch (IllegalArgumentException e) {
+                    // Not a mailbox
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to scan mail folder: " + e.getMessage());
+        }
+    }
+
+    // Username index
+
+    /**
+     * Loads the append-only name log (later lines win) and rewrites it if it has grown
+     * well past the number of players it describes.
+     */
+    private void loadKnownPlayers() {
+        if (!Files.exists(namesFile)) {
+            return;
+        }
+        int lineCount = 0;
+        try {
+            for (String line : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 2);
+                if (fields.length < 2) {
+                    continue;
+                }
+                try {
+                    knownPlayers.put(fields[1].toLowerCase(Locale.ROOT), UUID.fromString(fields[0]));
+                    lineCount++;
+                } catch (IllegalArgumentException e) {
+                    // Skip malformed lines
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to load usernames: " + e.getMessage());
+            return;
+        }
+
+        if (lineCount > knownPlayers.size() * 2 + 100) {
+            compactKnownPlayers();
+        }
+    }
+
+    private void compactKnownPlayers() {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, UUID> entry : knownPlayers.entrySet()) {
+            content.append(entry.getValue()).append('\t').append(entry.getKey()).append('\n');
+        }
+        try {
+            Files.writeString(namesFile, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Log.warning("Failed to compact usernames: " + e.getMessage());
+        }
+    }
+
+    private void appendKnownPlayer(@Nonnull UUID uuid, @Nonnull String name) {
+        try {
+            Files.writeString(namesFile, uuid + "\t" + name + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            Log.warning("Failed to save username for " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finishes pending mail writes.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                Log.warning("Timed out waiting for mail to be written.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate-limits repeated feedback messages (e.g. protection denials) per player.
+ * Each registered message has its own token bucket per player, so holding the mouse
+ * on a protected block sends a message every few seconds instead of one per cancelled event.
+ */
+public class MessageThrottleManager {
+    // One token every 1.5 seconds, up to 2 stored tokens
+    private static final long INTERVAL_MILLIS = 1500;
+    private static final int BURST = 2;
+
+    private final List<ThrottledMessage> messages = new ArrayList<>();
+    // Player UUID -> "theoretical arrival time" per registered message id
+    private final ConcurrentHashMap<UUID, Schedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a throttled message. The message is built once and reused for every send.
+     * Registering the same key twice returns the existing entry.
+     */
+    @Nonnull
+    public ThrottledMessage register(@Nonnull String key, @Nonnull Message message) {
+        synchronized (messages) {
+            for (ThrottledMessage existing : messages) {
+                if (existing.key.equals(key)) {
+                    return existing;
+                }
+            }
+            ThrottledMessage throttled = new ThrottledMessage(this, messages.size(), key, message);
+            messages.add(throttled);
+            return throttled;
+        }
+    }
+
+    /**
+     * Gets a snapshot of all registered messages (for stats).
+     */
+    @Nonnull
+    public List<ThrottledMessage> getMessages() {
+        synchronized (messages) {
+            return List.copyOf(messages);
+        }
+    }
+
+    /**
+     * Gets the total number of suppressed messages across all keys.
+     */
+    public long getTotalSuppressed() {
+        long total = 0;
+        for (ThrottledMessage message : getMessages()) {
+            total += message.getSuppressedCount();
+        }
+        return total;
+    }
+
+    /**
+     * Cleans up throttle state for a player when they disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        schedules.remove(playerUuid);
+    }
+
+    private boolean tryAcquire(@Nonnull UUID playerUuid, int id) {
+        Schedule schedule = schedules.get(playerUuid);
+        if (schedule == null) {
+            schedule = schedules.computeIfAbsent(playerUuid, _ -> new Schedule());
+        }
+
+        long now = System.currentTimeMillis();
+        // Growing and updating under the same lock, so no update can land in a discarded array
+        synchronized (schedule) {
+            long[] times = schedule.times;
+            if (times.length <= id) {
+                times = Arrays.copyOf(times, id + 1);
+                schedule.times = times;
+            }
+            long tat = Math.max(times[id], now);
+            if (tat - now > (BURST - 1) * INTERVAL_MILLIS) {
+                return false;
+            }
+            times[id] = tat + INTERVAL_MILLIS;
+            return true;
+        }
+    }
+
+    /**
+     * One player's "theoretical arrival time" per registered message id. Guarded by itself.
+     */
+    private static final class Schedule {
+        private long[] times = new long[0];
+    }
+
+    /**
+     * A pre-built message with its own per-player rate limit and counters.
+     */
+    public static final class ThrottledMessage {
+        private final MessageThrottleManager owner;
+        private final int id;
+        private final String key;
+        private final Message message;
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder suppressed = new LongAdder();
+
+        private ThrottledMessage(MessageThrottleManager owner, int id, String key, Message message) {
+            this.owner = owner;
+            this.id = id;
+            this.key = key;
+            this.message = message;
+        }
+
+        /**
+         * Sends the message to a player unless they have exceeded the rate limit for it.
+         */
+        public void send(@Nullable PlayerRef playerRef) {
+            if (playerRef == null) {
+                return;
+            }
+            if (owner.tryAcquire(playerRef.getUuid(), id)) {
+                sent.increment();
+                playerRef.sendMessage(message);
+            } else {
+                suppressed.increment();
+            }
+        }
+
+        @Nonnull
+        public String getKey() {
+            return key;
+        }
+
+        public long getSentCount() {
+            return sent.sum();
+        }
+
+        public long getSuppressedCount() {
+            return suppressed.sum();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of online players by name, kept up to date on connect and disconnect.
+ * Exact lookups go through a map of lower-cased names; partial names walk a prefix trie, so
+ * resolving a name costs O(name length) instead of scanning every player.
+ * Commands that only target online players use ArgTypes.PLAYER_REF instead, which brings the
+ * server's own tab completion.
+ */
+public class OnlinePlayerManager {
+    private final ConcurrentHashMap<String, PlayerRef> byName = new ConcurrentHashMap<>();
+
+    // Guarded by itself
+    private final TrieNode trieRoot = new TrieNode();
+
+    /**
+     * Indexes players that are already online (e.g. when the plugin is reloaded on a running server).
+     */
+    public void indexOnlinePlayers() {
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            onPlayerConnect(player);
+        }
+    }
+
+    public void onPlayerConnect(@Nonnull PlayerRef player) {
+        String key = key(player.getUsername());
+        if (byName.put(key, player) == null) {
+            synchronized (trieRoot) {
+                trieRoot.insert(key);
+            }
+        }
+    }
+
+    public void onPlayerDisconnect(@Nonnull PlayerRef player) {
+        String key = key(player.getUsername());
+        // Only remove the entry if it still belongs to this player (a rejoin may have replaced it)
+        boolean removed = byName.computeIfPresent(key,
+                (_, existing) -> existing.getUuid().equals(player.getUuid()) ? null : existing) == null;
+        if (removed) {
+            synchronized (trieRoot) {
+                trieRoot.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets an online player by exact name (case-insensitive).
+     */
+    @Nullable
+    public PlayerRef getPlayer(@Nonnull String name) {
+        return byName.get(key(name));
+    }
+
+    /**
+     * Finds an online player by exact name, or by a partial name that matches only one player.
+     */
+    @Nullable
+    public PlayerRef findPlayer(@Nonnull String name) {
+        String key = key(name);
+        PlayerRef exact = byName.get(key);
+        if (exact != null || key.isEmpty()) {
+            return exact;
+        }
+
+        String match;
+        synchronized (trieRoot) {
+            TrieNode node = trieRoot.find(key);
+            match = node != null && node.size == 1 ? node.single() : null;
+        }
+        return match != null ? byName.get(match) : null;
+    }
+
+    @Nonnull
+    private static String key(@Nonnull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Trie node. {@code size} is the number of names in this subtree, which makes
+     * "exactly one match" checks free and lets empty branches be pruned on removal.
+     */
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+        private String name;
+        private int size;
+
+        void insert(@Nonnull String key) {
+            TrieNode node = this;
+            node.size++;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), _ -> new TrieNode());
+                node.size++;
+            }
+            node.name = key;
+        }
+
+        void remove(@Nonnull String key) {
+            TrieNode leaf = find(key);
+            if (leaf == null || leaf.name == null) {
+                return;
+            }
+            TrieNode node = this;
+            node.size--;
+            for (int i = 0; i < key.length(); i++) {
+                TrieNode child = node.children.get(key.charAt(i));
+                if (--child.size == 0) {
+                    node.children.remove(key.charAt(i));
+                    return;
+                }
+                node = child;
+            }
+            node.name = null;
+        }
+
+        @Nullable
+        TrieNode find(@Nonnull String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        /**
+         * Gets the only name in a subtree of size 1.
+         */
+        @Nullable
+        String single() {
+            TrieNode node = this;
+            while (node.name == null && !node.children.isEmpty()) {
+                node = node.children.values().iterator().next();
+            }
+            return node.name;
+        }
+    }
+}
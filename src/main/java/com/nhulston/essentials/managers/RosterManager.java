@@ -0,0 +1,175 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Online players grouped by rank, for /list. Players are added and removed on connect and
+ * disconnect, and their rank is resolved once when they join. The rendered /list pages are cached
+ * and only rebuilt by the first /list after someone joins or leaves (or the config is reloaded).
+ * <p>
+ * Ranks are the chat format groups from config.toml, in config order; players in none of them
+ * are listed under "Players".
+ */
+public class RosterManager {
+    public static final int PAGE_SIZE = 50;
+    private static final String DEFAULT_GROUP = "Players";
+    private static final String GROUP_COLOR = "#55FF55";
+    private static final String INFO_COLOR = "#FFFF55";
+    private static final String WHITE = "#FFFFFF";
+
+    private static final Comparator<Member> ORDER =
+            Comparator.comparingInt(Member::rank).thenComparing(Member::sortKey);
+
+    /**
+     * @param rank position of the player's group in the chat formats, or the number of formats if none
+     */
+    private record Member(@Nonnull String name, @Nonnull String sortKey, @Nonnull String group, int rank) {}
+
+    /**
+     * Cached /list pages.
+     *
+     * @param version  the membership version they were rendered from
+     * @param settings the chat config ranks were resolved against
+     */
+    private record Rendered(long version, @Nonnull ConfigSnapshot.ChatSettings settings, @Nonnull Message[] pages) {}
+
+    private final ConfigManager configManager;
+    private final ConcurrentHashMap<UUID, Member> members = new ConcurrentHashMap<>();
+    // Bumped on every membership change; a cached render from an older version is rebuilt
+    private final AtomicLong version = new AtomicLong();
+    private volatile Rendered rendered;
+    // The chat config that member ranks were last resolved against as a whole
+    private volatile ConfigSnapshot.ChatSettings resolvedSettings;
+
+    public RosterManager(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.resolvedSettings = configManager.getSnapshot().chat();
+    }
+
+    /**
+     * Adds players that are already online (e.g. when the plugin is reloaded on a running server).
+     */
+    public void indexOnlinePlayers() {
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            onPlayerConnect(player);
+        }
+    }
+
+    public void onPlayerConnect(@Nonnull PlayerRef player) {
+        members.put(player.getUuid(), resolve(player.getUuid(), player.getUsername(),
+                configManager.getSnapshot().chat()));
+        version.incrementAndGet();
+    }
+
+    public void onPlayerDisconnect(@Nonnull PlayerRef player) {
+        if (members.remove(player.getUuid()) != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets one page of the player list.
+     *
+     * @param page zero-based page, clamped to the pages there are
+     */
+    @Nonnull
+    public Message getPage(int page) {
+        Message[] pages = getRendered().pages();
+        return pages[Math.clamp(page, 0, pages.length - 1)];
+    }
+
+    @Nonnull
+    private synchronized Rendered getRendered() {
+        ConfigSnapshot.ChatSettings chat = configManager.getSnapshot().chat();
+        Rendered current = rendered;
+        if (current != null && current.version() == version.get() && current.settings() == chat) {
+            return current;
+        }
+
+        // Read the version first, so changes made while rendering cause another rebuild
+        long renderedVersion = version.get();
+        if (resolvedSettings != chat) {
+            members.replaceAll((uuid, member) -> resolve(uuid, member.name(), chat));
+            resolvedSettings = chat;
+        }
+        List<Member> sorted = new ArrayList<>(members.values());
+        sorted.sort(ORDER);
+
+        Rendered updated = new Rendered(renderedVersion, chat, render(sorted));
+        rendered = updated;
+        return updated;
+    }
+
+    @Nonnull
+    private static Message[] render(@Nonnull List<Member> sorted) {
+        if (sorted.isEmpty()) {
+            return new Message[] {Message.join(
+                    Message.raw(DEFAULT_GROUP).color(GROUP_COLOR),
+                    Message.raw(": None").color(WHITE))};
+        }
+
+        int pageCount = (sorted.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        Message[] pages = new Message[pageCount];
+        for (int page = 0; page < pageCount; page++) {
+            List<Message> parts = new ArrayList<>();
+            String header = sorted.size() + " online";
+            if (pageCount > 1) {
+                header += " (page " + (page + 1) + " of " + pageCount + ", /list <page>)";
+            }
+            parts.add(Message.raw(header).color(INFO_COLOR));
+
+            int from = page * PAGE_SIZE;
+            int to = Math.min(from + PAGE_SIZE, sorted.size());
+            int groupStart = from;
+            for (int i = from + 1; i <= to; i++) {
+                if (i == to || sorted.get(i).rank() != sorted.get(groupStart).rank()) {
+                    StringBuilder names = new StringBuilder();
+                    for (int j = groupStart; j < i; j++) {
+                        if (j > groupStart) {
+                            names.append(", ");
+                        }
+                        names.append(sorted.get(j).name());
+                    }
+                    parts.add(Message.raw("\n" + sorted.get(groupStart).group()).color(GROUP_COLOR));
+                    parts.add(Message.raw(": " + names).color(WHITE));
+                    groupStart = i;
+                }
+            }
+            pages[page] = Message.join(parts.toArray(new Message[0]));
+        }
+        return pages;
+    }
+
+    @Nonnull
+    private static Member resolve(@Nonnull UUID playerUuid, @Nonnull String name,
+                                  @Nonnull ConfigSnapshot.ChatSettings chat) {
+        List<ConfigSnapshot.ChatFormat> formats = chat.formats();
+        String sortKey = name.toLowerCase();
+        if (!formats.isEmpty()) {
+            Set<String> playerGroups = PermissionsModule.get().getGroupsForUser(playerUuid);
+            for (int rank = 0; rank < formats.size(); rank++) {
+                String group = formats.get(rank).group();
+                for (String playerGroup : playerGroups) {
+                    if (playerGroup.equalsIgnoreCase(group)) {
+                        return new Member(name, sortKey, group, rank);
+                    }
+                }
+            }
+        }
+        return new Member(name, sortKey, DEFAULT_GROUP, formats.size());
+    }
+}
@@ -3,8 +3,10 @@ package com.nhulston.essentials.managers;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.nhulston.essentials.models.DamagePolicy;
 import com.nhulston.essentials.models.Spawn;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
 import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
@@ -35,6 +37,36 @@ public class SpawnProtectionManager {
         return configManager.isSpawnProtectionInvulnerable();
     }
 
+    /**
+     * Checks if any region policy blocks the given kind of damage.
+     * Lets the damage filter reject events before looking up positions.
+     */
+    public boolean isDamageSourceRestricted(@Nonnull DamagePolicy.Source source) {
+        return configManager.isDamageSourceRestricted(source);
+    }
+
+    /**
+     * Checks if any region policy blocks damage at all.
+     */
+    public boolean hasDamageRestrictions() {
+        return configManager.hasDamageRestrictions();
+    }
+
+    /**
+     * Gets the damage policy that applies to a player at the given position.
+     * The spawn area policy wins over the world policy; unconfigured worlds allow everything.
+     */
+    @Nonnull
+    public DamagePolicy getDamagePolicy(@Nonnull String worldName, @Nonnull Vector3d position) {
+        ConfigSnapshot snapshot = configManager.getSnapshot();
+        if (snapshot.spawnProtection().enabled() && snapshot.spawnProtection().invulnerable()
+                && isInProtectedArea(position)) {
+            return snapshot.damagePolicy().spawnPolicy();
+        }
+        DamagePolicy worldPolicy = snapshot.damagePolicy().worldPolicies().get(worldName);
+        return worldPolicy != null ? worldPolicy : DamagePolicy.ALLOW_ALL;
+    }
+
     /**
      * Checks if a block position is within the protected spawn area.
      */
@@ -44,7 +76,9 @@ public class SpawnProtectionManager {
             return false;
         }
 
-        int radius = configManager.getSpawnProtectionRadius();
+        // Read radius and Y range from the same config snapshot
+        ConfigSnapshot.SpawnProtectionSettings settings = configManager.getSnapshot().spawnProtection();
+        int radius = settings.radius();
         double dx = Math.abs(blockPos.getX() - spawn.getX());
         double dz = Math.abs(blockPos.getZ() - spawn.getZ());
 
@@ -54,7 +88,7 @@ public class SpawnProtectionManager {
         }
 
         // Check Y range if configured
-        return isInYRange(blockPos.getY());
+        return isInYRange(settings, blockPos.getY());
     }
 
     /**
@@ -66,7 +100,8 @@ public class SpawnProtectionManager {
             return false;
         }
 
-        int radius = configManager.getSpawnProtectionRadius();
+        ConfigSnapshot.SpawnProtectionSettings settings = configManager.getSnapshot().spawnProtection();
+        int radius = settings.radius();
         double dx = Math.abs(entityPos.getX() - spawn.getX());
         double dz = Math.abs(entityPos.getZ() - spawn.getZ());
 
@@ -76,16 +111,16 @@ public class SpawnProtectionManager {
         }
 
         // Check Y range if configured
-        return isInYRange((int) entityPos.getY());
+        return isInYRange(settings, (int) entityPos.getY());
     }
 
     /**
      * Checks if a Y coordinate is within the configured Y range.
      * Returns true if Y range is disabled (min-y and max-y are both -1).
      */
-    private boolean isInYRange(int y) {
-        int minY = configManager.getSpawnProtectionMinY();
-        int maxY = configManager.getSpawnProtectionMaxY();
+    private boolean isInYRange(@Nonnull ConfigSnapshot.SpawnProtectionSettings settings, int y) {
+        int minY = settings.minY();
+        int maxY = settings.maxY();
 
         // If both are -1, Y range is disabled (protect all Y levels)
         if (minY == -1 && maxY == -1) {
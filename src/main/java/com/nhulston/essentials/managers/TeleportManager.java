@@ -4,6 +4,8 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -21,16 +23,19 @@ import java.util.concurrent.ConcurrentHashMap;
  * Manages delayed teleports with movement cancellation.
  * Players must stand still during the teleport delay or the teleport is canceled.
  * Teleport destinations are stored as data and executed via buffer.run() callback.
+ * Where the player stood before each teleport is recorded for /back.
  */
 public class TeleportManager {
     private static final String BYPASS_PERMISSION = "essentials.teleport.bypass";
     private static final double CANCEL_DISTANCE = 2.0;
 
     private final ConfigManager configManager;
+    private final BackManager backManager;
     private final ConcurrentHashMap<UUID, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
 
-    public TeleportManager(@Nonnull ConfigManager configManager) {
+    public TeleportManager(@Nonnull ConfigManager configManager, @Nonnull BackManager backManager) {
         this.configManager = configManager;
+        this.backManager = backManager;
     }
 
     /**
@@ -57,10 +62,12 @@ public class TeleportManager {
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
+            BackOrigin origin = getBackOrigin(store, entityRef);
             String error = TeleportUtil.teleportSafe(store, entityRef, worldName, x, y, z, yaw, pitch);
             if (error != null) {
                 Msg.fail(playerRef, error);
             } else {
+                recordBackLocation(playerUuid, origin);
                 if (successMessage != null) {
                     Msg.success(playerRef, successMessage);
                 }
@@ -97,7 +104,9 @@ public class TeleportManager {
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
+            BackOrigin origin = getBackOrigin(store, entityRef);
             TeleportUtil.teleportToPlayer(playerRef, targetPlayer);
+            recordBackLocation(playerUuid, origin);
             if (successMessage != null) {
                 Msg.success(playerRef, successMessage);
             }
@@ -163,6 +172,7 @@ public class TeleportManager {
                     return;
                 }
 
+                BackOrigin origin = getBackOrigin(store, currentRef);
                 String error = null;
                 if (pending.isPlayerTeleport()) {
                     // Teleport to another player
@@ -177,6 +187,7 @@ public class TeleportManager {
                 if (error != null) {
                     Msg.fail(pending.getPlayerRef(), error);
                 } else {
+                    recordBackLocation(playerUuid, origin);
                     if (pending.getSuccessMessage() != null) {
                         Msg.success(pending.getPlayerRef(), pending.getSuccessMessage());
                     }
@@ -191,6 +202,31 @@ public class TeleportManager {
         });
     }
 
+    /**
+     * Copies where the player is standing before a teleport moves them.
+     */
+    @Nullable
+    private static BackOrigin getBackOrigin(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> entityRef) {
+        TransformComponent transform = store.getComponent(entityRef, TransformComponent.getComponentType());
+        if (transform == null) {
+            return null;
+        }
+        Vector3d position = transform.getPosition();
+        Vector3f rotation = transform.getRotation();
+        return new BackOrigin(store.getExternalData().getWorld().getName(),
+                position.getX(), position.getY(), position.getZ(), rotation.getY(), rotation.getX());
+    }
+
+    /**
+     * Records where the player stood before a successful teleport, so /back can return them there.
+     */
+    private void recordBackLocation(@Nonnull UUID playerUuid, @Nullable BackOrigin origin) {
+        if (origin != null) {
+            backManager.recordTeleport(playerUuid, origin.worldName(), origin.x(), origin.y(), origin.z(),
+                    origin.yaw(), origin.pitch());
+        }
+    }
+
     /**
      * Cancels a pending teleport for a player.
      */
@@ -222,6 +258,11 @@ public class TeleportManager {
         pendingTeleports.clear();
     }
 
+    /**
+     * Where a player stood before a teleport.
+     */
+    private record BackOrigin(@Nonnull String worldName, double x, double y, double z, float yaw, float pitch) {}
+
     /**
      * Stores teleport destination data.
      */
@@ -1,12 +1,27 @@
 package com.nhulston.essentials.managers;
 
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigSnapshot;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.TimingWheel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
@@ -14,163 +29,430 @@ import java.util.concurrent.*;
 /**
  * Manages teleport requests between players.
  * A target player can have multiple pending requests from different players.
+ * Requests are indexed by target, by requester and by player name, so accepting, cancelling
+ * and cleaning up after a disconnect only touch the requests involving that player.
+ * The indexes must change together, so every operation runs under this manager's lock.
+ * Expiry uses a timing wheel advanced by one periodic task, rather than a scheduled task per request.
  */
 public class TpaManager {
-    // Map of target player UUID -> Map of requester UUID -> request
-    private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, TpaRequest>> pendingRequests = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    
-    private static final long EXPIRATION_SECONDS = 20;
+    // Target UUID -> requester UUID -> request, oldest first
+    private final Map<UUID, LinkedHashMap<UUID, TpaRequest>> byTarget = new HashMap<>();
+    // Requester UUID -> target UUID -> request
+    private final Map<UUID, LinkedHashMap<UUID, TpaRequest>> byRequester = new HashMap<>();
+    // Lower-cased name -> UUID of every player with a pending request (either side)
+    private final Map<String, UUID> nameIndex = new HashMap<>();
+    // Expiry times are rounded up to the tick; 512 slots cover about two minutes per lap
+    private static final long TICK_MILLIS = 250;
+    private final TimingWheel<TpaRequest> expirations = new TimingWheel<>(512, TICK_MILLIS);
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final TeleportManager teleportManager;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Which player moves when a request is accepted.
+     */
+    public enum Type {
+        /** The requester teleports to the target (/tpa). */
+        TPA,
+        /** The target teleports to the requester (/tpahere, /tpaall). */
+        TPAHERE
+    }
+
+    public enum CreateResult { CREATED, ALREADY_PENDING, DISABLED, AUTO_ACCEPTED, AUTO_ACCEPT_FAILED }
+
+    /**
+     * Outcome of sending requests to many players at once.
+     *
+     * @param pending targets that now have a request waiting for them
+     */
+    public record BatchResult(@Nonnull List<PlayerRef> pending, int autoAccepted, int skipped) {}
+
+    public TpaManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
+                      @Nonnull TeleportManager teleportManager) {
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        this.teleportManager = teleportManager;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Essentials-TpaExpiry");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::expireRequests, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
 
     /**
      * Creates a teleport request from one player to another.
-     * @param requester The player requesting to teleport
+     * If the target has auto-accept enabled and the requester is asking to teleport to them (not
+     * /tpahere), the teleport starts right away instead.
+     * @param requester The player sending the request
      * @param target The player being requested to accept
-     * @return true if request was created, false if there's already a pending request from this requester
-     */
-    public boolean createRequest(@Nonnull PlayerRef requester, @Nonnull PlayerRef target) {
-        UUID targetUuid = target.getUuid();
-        UUID requesterUuid = requester.getUuid();
-        
-        // Get or create the map of requests for this target
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.computeIfAbsent(
-            targetUuid, _ -> new ConcurrentHashMap<>()
-        );
-        
-        // Check if there's already a pending request from this requester
-        if (targetRequests.containsKey(requesterUuid)) {
-            return false;
+     */
+    @Nonnull
+    public CreateResult createRequest(@Nonnull PlayerRef requester, @Nonnull PlayerRef target, @Nonnull Type type) {
+        PlayerData targetData = storageManager.getPlayerData(target.getUuid());
+        if (targetData.isTpaDisabled()) {
+            return CreateResult.DISABLED;
+        }
+
+        TpaRequest request = new TpaRequest(requester.getUuid(), requester.getUsername(),
+                target.getUuid(), target.getUsername(), type);
+        if (canAutoAccept(targetData, type)) {
+            synchronized (this) {
+                if (hasRequest(target.getUuid(), requester.getUuid())) {
+                    return CreateResult.ALREADY_PENDING;
+                }
+            }
+            if (!completeRequest(request)) {
+                return CreateResult.AUTO_ACCEPT_FAILED;
+            }
+            notifyAutoAccepted(target, requester);
+            return CreateResult.AUTO_ACCEPTED;
         }
-        
-        // Create new request
-        TpaRequest request = new TpaRequest(requesterUuid, requester.getUsername(), target.getUsername());
-        targetRequests.put(requesterUuid, request);
-        
-        // Schedule expiration
-        ScheduledFuture<?> future = scheduler.schedule(() -> {
-            expireRequest(targetUuid, requesterUuid);
-        }, EXPIRATION_SECONDS, TimeUnit.SECONDS);
-        request.setExpirationFuture(future);
-        
+
+        long expireMillis = TimeUnit.SECONDS.toMillis(getExpireSeconds(requester.getUuid()));
+        synchronized (this) {
+            if (!link(request, expireMillis)) {
+                return CreateResult.ALREADY_PENDING;
+            }
+        }
+
         Log.info("TPA request created: " + requester.getUsername() + " -> " + target.getUsername());
-        return true;
+        return CreateResult.CREATED;
+    }
+
+    /**
+     * Sends a request to many players in one pass, taking the lock once.
+     * Players who disabled requests or already have one from the requester are skipped.
+     */
+    @Nonnull
+    public BatchResult createRequests(@Nonnull PlayerRef requester, @Nonnull List<PlayerRef> targets,
+                                      @Nonnull Type type) {
+        List<TpaRequest> toLink = new ArrayList<>(targets.size());
+        List<PlayerRef> toLinkTargets = new ArrayList<>(targets.size());
+        List<TpaRequest> autoAccept = new ArrayList<>();
+        int skipped = 0;
+        for (PlayerRef target : targets) {
+            if (target.getUuid().equals(requester.getUuid())) {
+                continue;
+            }
+            PlayerData data = storageManager.getPlayerData(target.getUuid());
+            if (data.isTpaDisabled()) {
+                skipped++;
+                continue;
+            }
+            TpaRequest request = new TpaRequest(requester.getUuid(), requester.getUsername(),
+                    target.getUuid(), target.getUsername(), type);
+            if (canAutoAccept(data, type)) {
+                autoAccept.add(request);
+            } else {
+                toLink.add(request);
+                toLinkTargets.add(target);
+            }
+        }
+
+        long expireMillis = TimeUnit.SECONDS.toMillis(getExpireSeconds(requester.getUuid()));
+        List<PlayerRef> pending = new ArrayList<>(toLink.size());
+        synchronized (this) {
+            for (int i = 0; i < toLink.size(); i++) {
+                if (link(toLink.get(i), expireMillis)) {
+                    pending.add(toLinkTargets.get(i));
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        for (TpaRequest request : autoAccept) {
+            PlayerRef target = Universe.get().getPlayer(request.getTargetUuid());
+            if (completeRequest(request) && target != null) {
+                notifyAutoAccepted(target, requester);
+            }
+        }
+
+        Log.info("TPA requests created: " + requester.getUsername() + " -> " + pending.size() + " players");
+        return new BatchResult(pending, autoAccept.size(), skipped);
     }
 
     /**
-     * Accepts a teleport request from a specific player.
+     * Accepts a teleport request from a specific player, or the most recent one if the name is null.
      * @param target The player accepting the request
-     * @param requesterName The name of the requester
      * @return The TpaRequest if found and valid, null otherwise
      */
     @Nullable
-    public TpaRequest acceptRequest(@Nonnull PlayerRef target, @Nonnull String requesterName) {
-        UUID targetUuid = target.getUuid();
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.get(targetUuid);
-        
-        if (targetRequests == null || targetRequests.isEmpty()) {
+    public TpaRequest acceptRequest(@Nonnull PlayerRef target, @Nullable String requesterName) {
+        TpaRequest request = removeIncoming(target.getUuid(), requesterName);
+        if (request != null) {
+            Log.info("TPA request accepted: " + request.getRequesterName() + " -> " + target.getUsername());
+        }
+        return request;
+    }
+
+    /**
+     * Denies a teleport request from a specific player, or the most recent one if the name is null.
+     * @return The removed request, or null if there was none
+     */
+    @Nullable
+    public TpaRequest denyRequest(@Nonnull PlayerRef target, @Nullable String requesterName) {
+        return removeIncoming(target.getUuid(), requesterName);
+    }
+
+    /**
+     * Cancels a request the player sent to someone else.
+     * @return The removed request, or null if there was none
+     */
+    @Nullable
+    public synchronized TpaRequest cancelRequest(@Nonnull PlayerRef requester, @Nonnull String targetName) {
+        UUID targetUuid = nameIndex.get(key(targetName));
+        Map<UUID, TpaRequest> outgoing = byRequester.get(requester.getUuid());
+        if (targetUuid == null || outgoing == null) {
             return null;
         }
-        
-        // Find the request by requester name (case-insensitive)
-        TpaRequest foundRequest = null;
-        UUID foundRequesterUuid = null;
-        
-        for (Map.Entry<UUID, TpaRequest> entry : targetRequests.entrySet()) {
-            if (entry.getValue().getRequesterName().equalsIgnoreCase(requesterName)) {
-                foundRequest = entry.getValue();
-                foundRequesterUuid = entry.getKey();
-                break;
-            }
+        TpaRequest request = outgoing.get(targetUuid);
+        if (request != null) {
+            unlink(request);
+        }
+        return request;
+    }
+
+    /**
+     * Cancels every request the player has sent.
+     * @return The removed requests
+     */
+    @Nonnull
+    public synchronized List<TpaRequest> cancelAllRequests(@Nonnull PlayerRef requester) {
+        Map<UUID, TpaRequest> outgoing = byRequester.get(requester.getUuid());
+        if (outgoing == null) {
+            return List.of();
+        }
+        List<TpaRequest> cancelled = new ArrayList<>(outgoing.values());
+        for (TpaRequest request : cancelled) {
+            unlink(request);
         }
-        
-        if (foundRequest == null) {
+        return cancelled;
+    }
+
+    @Nullable
+    private synchronized TpaRequest removeIncoming(@Nonnull UUID targetUuid, @Nullable String requesterName) {
+        LinkedHashMap<UUID, TpaRequest> incoming = byTarget.get(targetUuid);
+        if (incoming == null) {
             return null;
         }
-        
-        // Remove the request and cancel its expiration
-        targetRequests.remove(foundRequesterUuid);
-        foundRequest.cancel();
-        
-        // Clean up empty maps
-        if (targetRequests.isEmpty()) {
-            pendingRequests.remove(targetUuid);
+
+        TpaRequest request;
+        if (requesterName == null) {
+            request = incoming.lastEntry().getValue();
+        } else {
+            UUID requesterUuid = nameIndex.get(key(requesterName));
+            request = requesterUuid != null ? incoming.get(requesterUuid) : null;
         }
-        
-        Log.info("TPA request accepted: " + foundRequest.getRequesterName() + " -> " + target.getUsername());
-        return foundRequest;
+        if (request != null) {
+            unlink(request);
+        }
+        return request;
     }
 
     /**
-     * Expires a request and notifies the requester.
+     * Only requests to teleport to the target are auto-accepted. /tpahere would move the target,
+     * so it always waits for an explicit /tpaccept.
      */
-    private void expireRequest(UUID targetUuid, UUID requesterUuid) {
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.get(targetUuid);
-        if (targetRequests == null) {
-            return;
+    private static boolean canAutoAccept(@Nonnull PlayerData targetData, @Nonnull Type type) {
+        return type == Type.TPA && targetData.isTpaAutoAccept();
+    }
+
+    private static void notifyAutoAccepted(@Nonnull PlayerRef target, @Nonnull PlayerRef requester) {
+        Msg.info(target, requester.getUsername() + " is teleporting to you (auto-accept is on).");
+    }
+
+    /**
+     * Starts the teleport for an accepted request on the moving player's world thread.
+     * @return false if either player is no longer online
+     */
+    public boolean completeRequest(@Nonnull TpaRequest request) {
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        PlayerRef target = Universe.get().getPlayer(request.getTargetUuid());
+        if (requester == null || target == null) {
+            return false;
         }
-        
-        TpaRequest request = targetRequests.remove(requesterUuid);
-        if (request != null) {
-            // Clean up empty maps
-            if (targetRequests.isEmpty()) {
-                pendingRequests.remove(targetUuid);
+
+        PlayerRef traveller = request.getType() == Type.TPA ? requester : target;
+        PlayerRef destination = request.getType() == Type.TPA ? target : requester;
+        Ref<EntityStore> ref = traveller.getReference();
+        if (ref == null || !ref.isValid()) {
+            return false;
+        }
+
+        World world = ref.getStore().getExternalData().getWorld();
+        world.execute(() -> {
+            if (!ref.isValid()) {
+                return;
             }
-            
-            // Notify the requester that their request expired
-            PlayerRef requester = Universe.get().getPlayer(requesterUuid);
-            if (requester != null) {
-                Msg.fail(requester, "Your teleport request to " + request.getTargetName() + " has expired.");
+            // Queue the teleport for the traveller (they need to stand still)
+            Store<EntityStore> store = ref.getStore();
+            teleportManager.queueTeleportToPlayer(traveller, ref, store, traveller.getTransform().getPosition(),
+                    destination, "Teleported to " + destination.getUsername() + ".");
+        });
+        return true;
+    }
+
+    /**
+     * Gets how long a player's requests stay open, from the longest expiry tier they have.
+     */
+    public int getExpireSeconds(@Nonnull UUID requesterUuid) {
+        ConfigSnapshot.TpaSettings settings = configManager.getTpaSettings();
+        PermissionsModule permissions = PermissionsModule.get();
+        for (ConfigSnapshot.TpaExpiryTier tier : settings.tiers()) {
+            if (tier.seconds() > settings.expireSeconds()
+                    && permissions.hasPermission(requesterUuid, tier.permission())) {
+                return tier.seconds();
+            }
+        }
+        return settings.expireSeconds();
+    }
+
+    /**
+     * Removes expired requests and notifies their requesters. Runs every tick of the wheel.
+     */
+    private void expireRequests() {
+        List<TpaRequest> expired = new ArrayList<>();
+        synchronized (this) {
+            if (expirations.size() == 0) {
+                return;
+            }
+            expirations.advance(expired::add);
+            for (TpaRequest request : expired) {
+                unlink(request);
             }
         }
+
+        for (TpaRequest request : expired) {
+            notifyExpired(request);
+        }
+    }
+
+    /**
+     * Tells the requester their request expired, on their world's thread.
+     */
+    private static void notifyExpired(@Nonnull TpaRequest request) {
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        if (requester == null) {
+            return;
+        }
+        String message = "Your teleport request to " + request.getTargetName() + " has expired.";
+        Ref<EntityStore> ref = requester.getReference();
+        if (ref == null || !ref.isValid()) {
+            Msg.fail(requester, message);
+            return;
+        }
+        World world = ref.getStore().getExternalData().getWorld();
+        world.execute(() -> Msg.fail(requester, message));
     }
 
     /**
      * Cleans up all requests involving a player (both as requester and target).
      * Call this when a player disconnects.
      */
-    public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        // Remove all requests where this player is the target
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.remove(playerUuid);
-        if (targetRequests != null) {
-            // Cancel all expiration futures
-            for (TpaRequest request : targetRequests.values()) {
-                request.cancel();
-            }
+    public synchronized void onPlayerQuit(@Nonnull UUID playerUuid) {
+        List<TpaRequest> involved = new ArrayList<>();
+        Map<UUID, TpaRequest> incoming = byTarget.get(playerUuid);
+        if (incoming != null) {
+            involved.addAll(incoming.values());
+        }
+        Map<UUID, TpaRequest> outgoing = byRequester.get(playerUuid);
+        if (outgoing != null) {
+            involved.addAll(outgoing.values());
+        }
+        for (TpaRequest request : involved) {
+            unlink(request);
+        }
+    }
+
+    private boolean hasRequest(@Nonnull UUID targetUuid, @Nonnull UUID requesterUuid) {
+        Map<UUID, TpaRequest> incoming = byTarget.get(targetUuid);
+        return incoming != null && incoming.containsKey(requesterUuid);
+    }
+
+    /**
+     * Adds a request to every index and the expiry wheel. Caller must hold the lock.
+     * @return false if the requester already has a request pending with this target
+     */
+    private boolean link(@Nonnull TpaRequest request, long expireMillis) {
+        UUID targetUuid = request.getTargetUuid();
+        UUID requesterUuid = request.getRequesterUuid();
+        if (hasRequest(targetUuid, requesterUuid)) {
+            return false;
         }
 
-        // Remove all requests where this player is the requester
-        for (ConcurrentHashMap<UUID, TpaRequest> requests : pendingRequests.values()) {
-            TpaRequest request = requests.remove(playerUuid);
-            if (request != null) {
-                request.cancel();
+        byTarget.computeIfAbsent(targetUuid, _ -> new LinkedHashMap<>()).put(requesterUuid, request);
+        byRequester.computeIfAbsent(requesterUuid, _ -> new LinkedHashMap<>()).put(targetUuid, request);
+        nameIndex.put(key(request.getRequesterName()), requesterUuid);
+        nameIndex.put(key(request.getTargetName()), targetUuid);
+        expirations.schedule(request, expireMillis);
+        return true;
+    }
+
+    /**
+     * Removes a request from every index and the expiry wheel. Caller must hold the lock.
+     */
+    private void unlink(@Nonnull TpaRequest request) {
+        UUID targetUuid = request.getTargetUuid();
+        UUID requesterUuid = request.getRequesterUuid();
+        removeFrom(byTarget, targetUuid, requesterUuid);
+        removeFrom(byRequester, requesterUuid, targetUuid);
+        expirations.cancel(request);
+
+        // Drop names of players that are no longer part of any request
+        unindexName(request.getRequesterName(), requesterUuid);
+        unindexName(request.getTargetName(), targetUuid);
+    }
+
+    private static void removeFrom(@Nonnull Map<UUID, LinkedHashMap<UUID, TpaRequest>> index, @Nonnull UUID outer,
+                                   @Nonnull UUID inner) {
+        Map<UUID, TpaRequest> requests = index.get(outer);
+        if (requests != null) {
+            requests.remove(inner);
+            if (requests.isEmpty()) {
+                index.remove(outer);
             }
         }
+    }
 
-        // Clean up any empty maps
-        pendingRequests.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    private void unindexName(@Nonnull String name, @Nonnull UUID uuid) {
+        if (!byTarget.containsKey(uuid) && !byRequester.containsKey(uuid)) {
+            nameIndex.remove(key(name), uuid);
+        }
+    }
+
+    @Nonnull
+    private static String key(@Nonnull String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     /**
      * Shuts down the manager and cancels all pending requests.
      */
-    public void shutdown() {
+    public synchronized void shutdown() {
         scheduler.shutdownNow();
-        pendingRequests.clear();
+        byTarget.clear();
+        byRequester.clear();
+        nameIndex.clear();
     }
 
     /**
      * Represents a teleport request.
      */
-    public static class TpaRequest {
+    public static class TpaRequest extends TimingWheel.Entry {
         private final UUID requesterUuid;
         private final String requesterName;
+        private final UUID targetUuid;
         private final String targetName;
-        private ScheduledFuture<?> expirationFuture;
+        private final Type type;
 
-        public TpaRequest(UUID requesterUuid, String requesterName, String targetName) {
+        public TpaRequest(UUID requesterUuid, String requesterName, UUID targetUuid, String targetName, Type type) {
             this.requesterUuid = requesterUuid;
             this.requesterName = requesterName;
+            this.targetUuid = targetUuid;
             this.targetName = targetName;
+            this.type = type;
         }
 
         public UUID getRequesterUuid() {
@@ -181,18 +463,16 @@ public class TpaManager {
             return requesterName;
         }
 
-        public String getTargetName() {
-            return targetName;
+        public UUID getTargetUuid() {
+            return targetUuid;
         }
 
-        void setExpirationFuture(ScheduledFuture<?> future) {
-            this.expirationFuture = future;
+        public String getTargetName() {
+            return targetName;
         }
 
-        void cancel() {
-            if (expirationFuture != null) {
-                expirationFuture.cancel(false);
-            }
+        public Type getType() {
+            return type;
         }
     }
 }
@@ -1,21 +1,62 @@
 package com.nhulston.essentials.managers;
 
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.nhulston.essentials.models.Warp;
 import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+/**
+ * Server warps. Besides the warps themselves, keeps an index of every warp sorted by category,
+ * then name. The index is sorted once on startup and then kept sorted by inserting and removing
+ * single entries as warps change, so listing a page of warps never sorts anything.
+ */
 public class WarpManager {
     private static final Pattern VALID_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9]+$");
     private static final int MAX_NAME_LENGTH = 16;
+    private static final String PERMISSION_PREFIX = "essentials.warp.";
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing(Entry::category).thenComparing(Entry::name);
+
+    /**
+     * A warp in the index.
+     *
+     * @param name       lower-cased warp name
+     * @param permission the node needed to use the warp, or null if essentials.warp is enough
+     */
+    public record Entry(@Nonnull String name, @Nonnull String category, @Nullable String permission,
+                        @Nonnull Warp warp) {}
 
     private final StorageManager storageManager;
 
+    // Lower-cased name -> index entry
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Sorted by ORDER; only replaced under the manager lock
+    private volatile Entry[] sorted;
+    // Read-only views of the current index, replaced together with it
+    private volatile List<Entry> index;
+    private volatile List<String> categories;
+
     public WarpManager(@Nonnull StorageManager storageManager) {
         this.storageManager = storageManager;
+
+        for (Map.Entry<String, Warp> warp : storageManager.getWarps().entrySet()) {
+            entries.put(warp.getKey(), createEntry(warp.getKey(), warp.getValue()));
+        }
+        Entry[] initial = entries.values().toArray(new Entry[0]);
+        Arrays.sort(initial, ORDER);
+        publish(initial);
     }
 
     @Nullable
@@ -32,16 +73,39 @@ public class WarpManager {
         return null;
     }
 
+    @Nullable
+    public String validateCategory(@Nonnull String category) {
+        if (category.length() > MAX_NAME_LENGTH) {
+            return "Warp category cannot be longer than " + MAX_NAME_LENGTH + " characters.";
+        }
+        if (!VALID_NAME_PATTERN.matcher(category).matches()) {
+            return "Warp category must be alphanumeric only.";
+        }
+        return null;
+    }
+
     @Nullable
     public String setWarp(@Nonnull String name, @Nonnull String world,
-                          double x, double y, double z, float yaw, float pitch) {
+                          double x, double y, double z, float yaw, float pitch,
+                          @Nullable String category, @Nullable UUID ownerUuid, @Nullable String ownerName,
+                          boolean restricted) {
         String validationError = validateWarpName(name);
+        if (validationError == null && category != null) {
+            validationError = validateCategory(category);
+        }
         if (validationError != null) {
             return validationError;
         }
 
-        Warp warp = new Warp(world, x, y, z, yaw, pitch);
-        storageManager.setWarp(name, warp);
+        String key = name.toLowerCase();
+        Warp warp = new Warp(world, x, y, z, yaw, pitch, category != null ? category.toLowerCase() : null,
+                ownerUuid, ownerName, restricted);
+        synchronized (this) {
+            storageManager.setWarp(key, warp);
+            Entry entry = createEntry(key, warp);
+            Entry[] updated = without(sorted, entries.put(key, entry));
+            publish(with(updated, entry));
+        }
         return null;
     }
 
@@ -50,12 +114,125 @@ public class WarpManager {
         return storageManager.getWarp(name);
     }
 
+    @Nullable
+    public Entry getEntry(@Nonnull String name) {
+        return entries.get(name.toLowerCase());
+    }
+
+    /**
+     * Gets every warp, sorted by category and then name. The list is the same instance until
+     * a warp changes, so callers can cache anything derived from it by identity.
+     */
+    @Nonnull
+    public List<Entry> getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the categories that have at least one warp, sorted.
+     */
+    @Nonnull
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gets the range of {@link #getIndex()} holding one category's warps.
+     *
+     * @return {start, end} with end exclusive; empty if the category has no warps
+     */
     @Nonnull
-    public Map<String, Warp> getWarps() {
-        return storageManager.getWarps();
+    public int[] getCategoryRange(@Nonnull List<Entry> index, @Nonnull String category) {
+        int start = lowerBound(index, category, false);
+        int end = lowerBound(index, category, true);
+        return new int[] {start, end};
+    }
+
+    /**
+     * Checks whether a player may use a warp: always for unrestricted warps,
+     * otherwise only with the warp's own permission node.
+     */
+    public boolean canUse(@Nonnull UUID playerUuid, @Nonnull Entry entry) {
+        return entry.permission() == null || PermissionsModule.get().hasPermission(playerUuid, entry.permission());
     }
 
     public boolean deleteWarp(@Nonnull String name) {
-        return storageManager.deleteWarp(name);
+        String key = name.toLowerCase();
+        synchronized (this) {
+            if (!storageManager.deleteWarp(key)) {
+                return false;
+            }
+            publish(without(sorted, entries.remove(key)));
+        }
+        return true;
+    }
+
+    @Nonnull
+    private static Entry createEntry(@Nonnull String name, @Nonnull Warp warp) {
+        return new Entry(name, warp.getCategory(), warp.isRestricted() ? PERMISSION_PREFIX + name : null, warp);
+    }
+
+    private void publish(@Nonnull Entry[] updated) {
+        List<String> updatedCategories = new ArrayList<>();
+        for (Entry entry : updated) {
+            if (updatedCategories.isEmpty() || !updatedCategories.getLast().equals(entry.category())) {
+                updatedCategories.add(entry.category());
+            }
+        }
+        sorted = updated;
+        index = Collections.unmodifiableList(Arrays.asList(updated));
+        categories = List.copyOf(updatedCategories);
+    }
+
+    /**
+     * Copies the index with one entry inserted at its sorted position.
+     */
+    @Nonnull
+    private static Entry[] with(@Nonnull Entry[] array, @Nonnull Entry entry) {
+        int position = Arrays.binarySearch(array, entry, ORDER);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        Entry[] updated = new Entry[array.length + 1];
+        System.arraycopy(array, 0, updated, 0, position);
+        updated[position] = entry;
+        System.arraycopy(array, position, updated, position + 1, array.length - position);
+        return updated;
+    }
+
+    /**
+     * Copies the index with one entry removed, or returns it as is if the entry is null or missing.
+     */
+    @Nonnull
+    private static Entry[] without(@Nonnull Entry[] array, @Nullable Entry entry) {
+        if (entry == null) {
+            return array;
+        }
+        int position = Arrays.binarySearch(array, entry, ORDER);
+        if (position < 0) {
+            return array;
+        }
+        Entry[] updated = new Entry[array.length - 1];
+        System.arraycopy(array, 0, updated, 0, position);
+        System.arraycopy(array, position + 1, updated, position, array.length - position - 1);
+        return updated;
+    }
+
+    /**
+     * Finds the first position whose category is at least (or, if {@code after}, greater than) the given one.
+     */
+    private static int lowerBound(@Nonnull List<Entry> index, @Nonnull String category, boolean after) {
+        int low = 0;
+        int high = index.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = index.get(mid).category().compareTo(category);
+            if (comparison < 0 || (after && comparison == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 }
@@ -0,0 +1,59 @@
+package com.nhulston.essentials.models;
+
+/**
+ * A location a player can return to with /back: where they died, or where they were
+ * before a teleport.
+ */
+public class BackLocation {
+    private final String world;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final boolean death;
+    private final long time;
+
+    public BackLocation(String world, double x, double y, double z, float yaw, float pitch, boolean death, long time) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.death = death;
+        this.time = time;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public float getYaw() {
+        return yaw;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    public boolean isDeath() {
+        return death;
+    }
+
+    public long getTime() {
+        return time;
+    }
+}
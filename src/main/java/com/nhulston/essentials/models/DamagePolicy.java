@@ -0,0 +1,38 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Damage rules for players inside a region (the spawn area or a world).
+ *
+ * @param pvp         allow damage from other players
+ * @param pve         allow damage from non-player entities (mobs, NPCs)
+ * @param environment allow damage without an entity source (falling, drowning, etc.)
+ */
+public record DamagePolicy(boolean pvp, boolean pve, boolean environment) {
+    public static final DamagePolicy ALLOW_ALL = new DamagePolicy(true, true, true);
+
+    /**
+     * Kind of damage source, classified once per damage event.
+     */
+    public enum Source {
+        PVP,
+        PVE,
+        ENVIRONMENT
+    }
+
+    public boolean allows(@Nonnull Source source) {
+        return switch (source) {
+            case PVP -> pvp;
+            case PVE -> pve;
+            case ENVIRONMENT -> environment;
+        };
+    }
+
+    /**
+     * Returns true if this policy blocks at least one kind of damage.
+     */
+    public boolean isRestrictive() {
+        return !pvp || !pve || !environment;
+    }
+}
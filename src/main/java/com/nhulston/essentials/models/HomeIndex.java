@@ -0,0 +1,182 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only index of one player's homes, built once from their home map.
+ * Names are kept sorted, so exact and prefix lookups are binary searches, and each world's
+ * homes have their coordinates in flat arrays, so nearest-home and distance sorting only
+ * touch the homes in the player's current world.
+ */
+public final class HomeIndex {
+    private final String[] names;
+    private final Home[] homes;
+    private final Map<String, WorldHomes> worlds;
+
+    private HomeIndex(@Nonnull String[] names, @Nonnull Home[] homes, @Nonnull Map<String, WorldHomes> worlds) {
+        this.names = names;
+        this.homes = homes;
+        this.worlds = worlds;
+    }
+
+    /**
+     * @param homes lower-cased home name -> home
+     */
+    @Nonnull
+    public static HomeIndex build(@Nonnull Map<String, Home> homes) {
+        String[] names = homes.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        Home[] sorted = new Home[names.length];
+        Map<String, List<Integer>> byWorld = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            sorted[i] = homes.get(names[i]);
+            byWorld.computeIfAbsent(sorted[i].getWorld(), _ -> new ArrayList<>()).add(i);
+        }
+
+        Map<String, WorldHomes> worlds = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : byWorld.entrySet()) {
+            worlds.put(entry.getKey(), new WorldHomes(entry.getValue(), sorted));
+        }
+        return new HomeIndex(names, sorted, worlds);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets all home names in alphabetical order.
+     */
+    @Nonnull
+    public List<String> getNames() {
+        return List.of(names);
+    }
+
+    @Nullable
+    public Home getHome(@Nonnull String name) {
+        int index = Arrays.binarySearch(names, name.toLowerCase());
+        return index >= 0 ? homes[index] : null;
+    }
+
+    /**
+     * Gets the names of homes starting with a prefix, in alphabetical order.
+     */
+    @Nonnull
+    public List<String> findByPrefix(@Nonnull String prefix) {
+        String key = prefix.toLowerCase();
+        int index = Arrays.binarySearch(names, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        List<String> matches = new ArrayList<>();
+        while (index < names.length && names[index].startsWith(key)) {
+            matches.add(names[index++]);
+        }
+        return matches;
+    }
+
+    /**
+     * Resolves a home name typed by a player: an exact name, or a prefix that matches only one home.
+     */
+    @Nullable
+    public String resolve(@Nonnull String query) {
+        String key = query.toLowerCase();
+        int index = Arrays.binarySearch(names, key);
+        if (index >= 0) {
+            return names[index];
+        }
+        index = -index - 1;
+        boolean unique = index < names.length && names[index].startsWith(key)
+                && (index + 1 == names.length || !names[index + 1].startsWith(key));
+        return unique ? names[index] : null;
+    }
+
+    /**
+     * Gets the name of the closest home in a world, or null if there are none there.
+     */
+    @Nullable
+    public String findNearest(@Nonnull String world, double x, double y, double z) {
+        WorldHomes worldHomes = worlds.get(world);
+        if (worldHomes == null) {
+            return null;
+        }
+        int nearest = -1;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < worldHomes.indexes.length; i++) {
+            double distance = worldHomes.distanceSquared(i, x, y, z);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        return names[worldHomes.indexes[nearest]];
+    }
+
+    /**
+     * Gets all home names, closest first for homes in the given world, followed by homes in
+     * other worlds in alphabetical order.
+     */
+    @Nonnull
+    public List<String> sortByDistance(@Nonnull String world, double x, double y, double z) {
+        List<String> sorted = new ArrayList<>(names.length);
+        WorldHomes worldHomes = worlds.get(world);
+        if (worldHomes != null) {
+            int count = worldHomes.indexes.length;
+            // Sort (distance, position) pairs by packing them, to keep the sort on primitives
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                float distance = (float) Math.sqrt(worldHomes.distanceSquared(i, x, y, z));
+                keys[i] = ((long) Float.floatToIntBits(distance) << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (long key : keys) {
+                sorted.add(names[worldHomes.indexes[(int) key]]);
+            }
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!homes[i].getWorld().equals(world)) {
+                sorted.add(names[i]);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Coordinates of the homes in one world, indexed in parallel with {@code indexes}
+     * (positions in the sorted name array).
+     */
+    private static final class WorldHomes {
+        private final int[] indexes;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] zs;
+
+        WorldHomes(@Nonnull List<Integer> indexes, @Nonnull Home[] homes) {
+            int count = indexes.size();
+            this.indexes = new int[count];
+            this.xs = new double[count];
+            this.ys = new double[count];
+            this.zs = new double[count];
+            for (int i = 0; i < count; i++) {
+                Home home = homes[indexes.get(i)];
+                this.indexes[i] = indexes.get(i);
+                this.xs[i] = home.getX();
+                this.ys[i] = home.getY();
+                this.zs[i] = home.getZ();
+            }
+        }
+
+        double distanceSquared(int i, double x, double y, double z) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double dz = zs[i] - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
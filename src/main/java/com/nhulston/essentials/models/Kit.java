@@ -3,6 +3,7 @@ package com.nhulston.essentials.models;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a kit configuration.
@@ -13,6 +14,8 @@ public class Kit {
     private final int cooldown;  // in seconds, 0 = no cooldown
     private final String type;   // "add" or "replace"
     private final List<KitItem> items;
+    private final String permission;
+    private final KitPlan plan;
 
     public Kit(@Nonnull String id, @Nonnull String displayName, int cooldown,
                @Nonnull String type, @Nonnull List<KitItem> items) {
@@ -21,6 +24,8 @@ public class Kit {
         this.cooldown = cooldown;
         this.type = type;
         this.items = new ArrayList<>(items);
+        this.permission = "essentials.kit." + id;
+        this.plan = KitPlan.compile(id, this.items, isReplaceMode());
     }
 
     @Nonnull
@@ -42,6 +47,14 @@ public class Kit {
         return type;
     }
 
+    /**
+     * Gets the permission needed to claim this kit.
+     */
+    @Nonnull
+    public String getPermission() {
+        return permission;
+    }
+
     public boolean isReplaceMode() {
         return "replace".equalsIgnoreCase(type);
     }
@@ -50,4 +63,28 @@ public class Kit {
     public List<KitItem> getItems() {
         return items;
     }
+
+    /**
+     * Gets the compiled form of this kit used when it is claimed.
+     */
+    @Nonnull
+    public KitPlan getPlan() {
+        return plan;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Kit other)) return false;
+        return cooldown == other.cooldown
+                && id.equals(other.id)
+                && displayName.equals(other.displayName)
+                && type.equals(other.type)
+                && items.equals(other.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, displayName, cooldown, type, items);
+    }
 }
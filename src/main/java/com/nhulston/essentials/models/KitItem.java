@@ -1,6 +1,8 @@
 package com.nhulston.essentials.models;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Locale;
 
 /**
  * Represents a single item in a kit.
@@ -26,4 +28,44 @@ public record KitItem(String itemId, int quantity, String section, int slot) {
     public String section() {
         return section;
     }
+
+    /**
+     * Inventory section an item is placed in.
+     */
+    public enum Section {
+        HOTBAR(false),
+        STORAGE(false),
+        ARMOR(true),
+        UTILITY(true),
+        TOOLS(true);
+
+        private final boolean fallbackToCombined;
+
+        Section(boolean fallbackToCombined) {
+            this.fallbackToCombined = fallbackToCombined;
+        }
+
+        /**
+         * Whether items that can't go in their slot are added to the hotbar/storage instead of
+         * elsewhere in this section (armor, utility and tools don't accept arbitrary items).
+         */
+        public boolean isFallbackToCombined() {
+            return fallbackToCombined;
+        }
+
+        /**
+         * Gets a section by its kits.toml name, or null if unknown.
+         */
+        @Nullable
+        public static Section fromName(@Nonnull String name) {
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "hotbar" -> HOTBAR;
+                case "storage" -> STORAGE;
+                case "armor" -> ARMOR;
+                case "utility" -> UTILITY;
+                case "tools" -> TOOLS;
+                default -> null;
+            };
+        }
+    }
 }
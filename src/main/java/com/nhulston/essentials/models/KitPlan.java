@@ -0,0 +1,89 @@
+package com.nhulston.essentials.models;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.nhulston.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A kit compiled for claiming: sections are resolved to enums and every item stack is built once
+ * when the kit is loaded. Item stacks are immutable, so the same instances are placed into the
+ * inventory of every player who claims the kit.
+ */
+public final class KitPlan {
+    private final KitItem.Section[] sections; // null = anywhere in hotbar/storage
+    private final short[] slots;              // -1 = no preferred slot
+    private final ItemStack[] items;
+    private final boolean replace;
+
+    private KitPlan(@Nonnull KitItem.Section[] sections, @Nonnull short[] slots, @Nonnull ItemStack[] items,
+                    boolean replace) {
+        this.sections = sections;
+        this.slots = slots;
+        this.items = items;
+        this.replace = replace;
+    }
+
+    /**
+     * Compiles a kit's items. Items that can't be built (e.g. a zero quantity) are logged and left out.
+     */
+    @Nonnull
+    public static KitPlan compile(@Nonnull String kitId, @Nonnull List<KitItem> kitItems, boolean replace) {
+        KitItem.Section[] sections = new KitItem.Section[kitItems.size()];
+        short[] slots = new short[kitItems.size()];
+        ItemStack[] items = new ItemStack[kitItems.size()];
+
+        int count = 0;
+        for (KitItem kitItem : kitItems) {
+            ItemStack item;
+            try {
+                item = new ItemStack(kitItem.itemId(), kitItem.quantity());
+            } catch (IllegalArgumentException e) {
+                Log.warning("Skipping invalid item " + kitItem.itemId() + " in kit " + kitId + ": " + e.getMessage());
+                continue;
+            }
+            sections[count] = KitItem.Section.fromName(kitItem.section());
+            slots[count] = kitItem.slot() >= 0 && kitItem.slot() <= Short.MAX_VALUE ? (short) kitItem.slot() : -1;
+            items[count] = item;
+            count++;
+        }
+
+        if (count < kitItems.size()) {
+            sections = Arrays.copyOf(sections, count);
+            slots = Arrays.copyOf(slots, count);
+            items = Arrays.copyOf(items, count);
+        }
+        return new KitPlan(sections, slots, items, replace);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Gets the section of an item, or null if it can go anywhere in the hotbar/storage.
+     */
+    @Nullable
+    public KitItem.Section getSection(int index) {
+        return sections[index];
+    }
+
+    /**
+     * Gets the preferred slot of an item, or -1.
+     */
+    public short getSlot(int index) {
+        return slots[index];
+    }
+
+    @Nonnull
+    public ItemStack getItem(int index) {
+        return items[index];
+    }
+
+    public boolean isReplace() {
+        return replace;
+    }
+}
@@ -3,17 +3,28 @@ package com.nhulston.essentials.models;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class PlayerData {
     private Map<String, Home> homes;
-    private Map<String, Long> kitCooldowns;  // kitId -> lastUsedTimestamp
+    private Map<String, Long> cooldowns;  // cooldown name -> expiry timestamp
+    // Last-used timestamps from older versions, migrated into cooldowns on first use
+    private Map<String, Long> kitCooldowns;
     private Long lastRepairTime;
     private Long lastRtpTime;
+    private Map<String, String> ignoredPlayers;  // ignored UUID -> name when ignored
+    private Boolean tpaAutoAccept;
+    private Boolean tpaDisabled;
+    private List<BackLocation> backHistory;  // oldest first
+    // Built from homes on first use and dropped whenever they change; not saved
+    private transient volatile HomeIndex homeIndex;
 
     public PlayerData() {
         this.homes = new HashMap<>();
-        this.kitCooldowns = new HashMap<>();
+        this.cooldowns = new HashMap<>();
+        this.ignoredPlayers = new HashMap<>();
     }
 
     // Ensure maps are initialized after Gson deserialization
@@ -21,8 +32,11 @@ public class PlayerData {
         if (homes == null) {
             homes = new HashMap<>();
         }
-        if (kitCooldowns == null) {
-            kitCooldowns = new HashMap<>();
+        if (cooldowns == null) {
+            cooldowns = new HashMap<>();
+        }
+        if (ignoredPlayers == null) {
+            ignoredPlayers = new HashMap<>();
         }
     }
 
@@ -38,14 +52,16 @@ public class PlayerData {
         return homes.get(name.toLowerCase());
     }
 
-    public void setHome(String name, Home home) {
+    public synchronized void setHome(String name, Home home) {
         ensureInitialized();
         homes.put(name.toLowerCase(), home);
+        homeIndex = null;
     }
 
-    public void deleteHome(String name) {
+    public synchronized void deleteHome(String name) {
         ensureInitialized();
         homes.remove(name.toLowerCase());
+        homeIndex = null;
     }
 
     public int getHomeCount() {
@@ -53,39 +69,114 @@ public class PlayerData {
         return homes.size();
     }
 
-    // Kit cooldown methods
+    @Nonnull
+    public HomeIndex getHomeIndex() {
+        HomeIndex index = homeIndex;
+        if (index != null) {
+            return index;
+        }
+        // Synchronized with setHome/deleteHome so a stale index is never cached
+        synchronized (this) {
+            if (homeIndex == null) {
+                ensureInitialized();
+                homeIndex = HomeIndex.build(homes);
+            }
+            return homeIndex;
+        }
+    }
 
-    @Nullable
-    public Long getKitCooldown(@Nonnull String kitId) {
+    // Cooldown methods
+
+    /**
+     * Gets saved cooldowns (name -> expiry timestamp). Only CooldownManager should use this.
+     */
+    @Nonnull
+    public Map<String, Long> getCooldowns() {
         ensureInitialized();
-        return kitCooldowns.get(kitId.toLowerCase());
+        return cooldowns;
     }
 
-    public void setKitCooldown(@Nonnull String kitId, long timestamp) {
-        ensureInitialized();
-        kitCooldowns.put(kitId.toLowerCase(), timestamp);
+    public void setCooldowns(@Nonnull Map<String, Long> cooldowns) {
+        this.cooldowns = cooldowns;
     }
 
-    // Repair cooldown methods
+    public boolean hasLegacyCooldowns() {
+        return kitCooldowns != null || lastRepairTime != null || lastRtpTime != null;
+    }
+
+    @Nonnull
+    public Map<String, Long> getLegacyKitCooldowns() {
+        return kitCooldowns != null ? kitCooldowns : Map.of();
+    }
 
     @Nullable
     public Long getLastRepairTime() {
         return lastRepairTime;
     }
 
-    public void setLastRepairTime(long timestamp) {
-        this.lastRepairTime = timestamp;
-    }
-
-    // RTP cooldown methods
-
     @Nullable
     public Long getLastRtpTime() {
         return lastRtpTime;
     }
 
-    public void setLastRtpTime(long timestamp) {
-        this.lastRtpTime = timestamp;
+    /**
+     * Drops the old cooldown fields once they have been migrated, so they aren't saved again.
+     */
+    public void clearLegacyCooldowns() {
+        kitCooldowns = null;
+        lastRepairTime = null;
+        lastRtpTime = null;
+    }
+
+    // Ignore list methods
+
+    @Nonnull
+    public Map<String, String> getIgnoredPlayers() {
+        ensureInitialized();
+        return ignoredPlayers;
+    }
+
+    public boolean isIgnoring(@Nonnull UUID playerUuid) {
+        ensureInitialized();
+        return ignoredPlayers.containsKey(playerUuid.toString());
     }
 
+    public void ignore(@Nonnull UUID playerUuid, @Nonnull String name) {
+        ensureInitialized();
+        ignoredPlayers.put(playerUuid.toString(), name);
+    }
+
+    public void unignore(@Nonnull UUID playerUuid) {
+        ensureInitialized();
+        ignoredPlayers.remove(playerUuid.toString());
+    }
+
+    // Teleport request toggles
+
+    public boolean isTpaAutoAccept() {
+        return Boolean.TRUE.equals(tpaAutoAccept);
+    }
+
+    public void setTpaAutoAccept(boolean autoAccept) {
+        this.tpaAutoAccept = autoAccept;
+    }
+
+    public boolean isTpaDisabled() {
+        return Boolean.TRUE.equals(tpaDisabled);
+    }
+
+    public void setTpaDisabled(boolean disabled) {
+        this.tpaDisabled = disabled;
+    }
+
+    // Back history
+
+    @Nonnull
+    public List<BackLocation> getBackHistory() {
+        return backHistory != null ? backHistory : List.of();
+    }
+
+    public void setBackHistory(@Nonnull List<BackLocation> backHistory) {
+        this.backHistory = backHistory;
+    }
 }
@@ -1,20 +1,36 @@
 package com.nhulston.essentials.models;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
 public class Warp {
+    public static final String DEFAULT_CATEGORY = "general";
+
     private final String world;
     private final double x;
     private final double y;
     private final double z;
     private final float yaw;
     private final float pitch;
+    // Missing in warps saved by older versions
+    private final String category;
+    private final String ownerUuid;
+    private final String ownerName;
+    private final boolean restricted;
 
-    public Warp(String world, double x, double y, double z, float yaw, float pitch) {
+    public Warp(String world, double x, double y, double z, float yaw, float pitch,
+                @Nullable String category, @Nullable UUID ownerUuid, @Nullable String ownerName, boolean restricted) {
         this.world = world;
         this.x = x;
         this.y = y;
         this.z = z;
         this.yaw = yaw;
         this.pitch = pitch;
+        this.category = category;
+        this.ownerUuid = ownerUuid != null ? ownerUuid.toString() : null;
+        this.ownerName = ownerName;
+        this.restricted = restricted;
     }
 
     public String getWorld() {
@@ -40,4 +56,30 @@ public class Warp {
     public float getPitch() {
         return pitch;
     }
+
+    @Nonnull
+    public String getCategory() {
+        return category != null ? category : DEFAULT_CATEGORY;
+    }
+
+    @Nullable
+    public UUID getOwnerUuid() {
+        try {
+            return ownerUuid != null ? UUID.fromString(ownerUuid) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    /**
+     * Whether the warp needs its own permission node (essentials.warp.&lt;name&gt;) on top of essentials.warp.
+     */
+    public boolean isRestricted() {
+        return restricted;
+    }
 }
@@ -0,0 +1,113 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.server.core.Message;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chat format compiled once into colored segments.
+ * Literal parts of the format are colorized at compile time; only the %player% and %message%
+ * slots are filled in per message, using the style that is active at that point in the format.
+ */
+public final class ChatTemplate {
+    private static final String PLAYER_PLACEHOLDER = "%player%";
+    private static final String MESSAGE_PLACEHOLDER = "%message%";
+
+    private enum Slot { PLAYER, MESSAGE }
+
+    /**
+     * One piece of the template: either a pre-built message or a slot with the style it inherits.
+     */
+    private record Part(Message literal, Slot slot, ColorUtil.Style style) {}
+
+    private final String format;
+    private final Part[] parts;
+
+    private ChatTemplate(@Nonnull String format, @Nonnull Part[] parts) {
+        this.format = format;
+        this.parts = parts;
+    }
+
+    /**
+     * Compiles a chat format such as "&7%player%&f: %message%".
+     */
+    @Nonnull
+    public static ChatTemplate compile(@Nonnull String format) {
+        List<Part> parts = new ArrayList<>();
+        ColorUtil.Style style = ColorUtil.Style.DEFAULT;
+        int index = 0;
+
+        while (index < format.length()) {
+            int playerIndex = format.indexOf(PLAYER_PLACEHOLDER, index);
+            int messageIndex = format.indexOf(MESSAGE_PLACEHOLDER, index);
+
+            int next;
+            Slot slot;
+            String placeholder;
+            if (playerIndex >= 0 && (messageIndex < 0 || playerIndex < messageIndex)) {
+                next = playerIndex;
+                slot = Slot.PLAYER;
+                placeholder = PLAYER_PLACEHOLDER;
+            } else if (messageIndex >= 0) {
+                next = messageIndex;
+                slot = Slot.MESSAGE;
+                placeholder = MESSAGE_PLACEHOLDER;
+            } else {
+                next = format.length();
+                slot = null;
+                placeholder = "";
+            }
+
+            if (next > index) {
+                String literal = format.substring(index, next);
+                parts.add(new Part(ColorUtil.colorize(literal, style), null, null));
+                style = ColorUtil.getTrailingStyle(literal, style);
+            }
+            if (slot != null) {
+                parts.add(new Part(null, slot, style));
+            }
+            index = next + placeholder.length();
+        }
+
+        return new ChatTemplate(format, parts.toArray(new Part[0]));
+    }
+
+    /**
+     * Builds a chat line for a sender.
+     *
+     * @param colorContent whether color codes in the content should be applied (otherwise it is shown as is)
+     */
+    @Nonnull
+    public Message render(@Nonnull String playerName, @Nonnull String content, boolean colorContent) {
+        Message[] messages = new Message[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Part part = parts[i];
+            if (part.literal() != null) {
+                messages[i] = part.literal();
+            } else if (part.slot() == Slot.PLAYER) {
+                messages[i] = part.style().apply(Message.raw(playerName));
+            } else if (colorContent) {
+                messages[i] = ColorUtil.colorize(content, part.style());
+            } else {
+                messages[i] = part.style().apply(Message.raw(content));
+            }
+        }
+
+        if (messages.length == 0) {
+            return Message.raw("");
+        } else if (messages.length == 1) {
+            return messages[0];
+        }
+        return Message.join(messages);
+    }
+
+    /**
+     * Gets the format this template was compiled from.
+     */
+    @Nonnull
+    public String getFormat() {
+        return format;
+    }
+}
@@ -1,20 +1,20 @@
 package com.nhulston.essentials.util;
 
+import com.hypixel.hytale.protocol.MaybeBool;
 import com.hypixel.hytale.server.core.Message;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility for parsing color codes in messages.
+ * Supports &0-&f, &#RRGGBB, &l (bold), &o (italic), &n (underline) and &r (reset).
+ * Like Minecraft, a color code also clears bold/italic/underline.
  */
 public final class ColorUtil {
-    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("&([0-9a-fA-F])");
-    private static final Pattern HEX_COLOR_PATTERN = Pattern.compile("&#([0-9a-fA-Fa-f]{6})");
-
     // Standard Minecraft color codes mapped to hex
     private static final String[] COLOR_MAP = {
             "#000000", // &0 - Black
@@ -35,62 +35,188 @@ public final class ColorUtil {
             "#FFFFFF"  // &f - White
     };
 
-    private ColorUtil() {}
+    public static final String DEFAULT_COLOR = "#FFFFFF";
+
+    // Cache for colorizeConstant; cleared when full since constant strings are few
+    private static final int CONSTANT_CACHE_LIMIT = 256;
+    private static final ConcurrentHashMap<String, Message> CONSTANT_CACHE = new ConcurrentHashMap<>();
 
     /**
-     * Parses color codes (&0-&f and &#RRGGBB) and returns a colored Message.
+     * Text style at a point in a string.
      */
-    @Nonnull
-    public static Message colorize(@Nonnull String text) {
-        // First, convert all color codes to a normalized format
-        String normalized = text;
-
-        // Replace standard color codes (&0-&f) with hex equivalents
-        Matcher colorMatcher = COLOR_CODE_PATTERN.matcher(normalized);
-        StringBuilder sb = new StringBuilder();
-        while (colorMatcher.find()) {
-            String code = colorMatcher.group(1).toLowerCase();
-            int index = Character.digit(code.charAt(0), 16);
-            String hex = COLOR_MAP[index];
-            colorMatcher.appendReplacement(sb, Matcher.quoteReplacement("&#" + hex.substring(1)));
-        }
-        colorMatcher.appendTail(sb);
-        normalized = sb.toString();
-
-        // Now parse the string with hex color codes
-        List<Message> parts = new ArrayList<>();
-        Matcher hexMatcher = HEX_COLOR_PATTERN.matcher(normalized);
-        int lastEnd = 0;
-        String currentColor = "#FFFFFF";
-
-        while (hexMatcher.find()) {
-            // Add text before this color code
-            if (hexMatcher.start() > lastEnd) {
-                String segment = normalized.substring(lastEnd, hexMatcher.start());
-                if (!segment.isEmpty()) {
-                    parts.add(Message.raw(segment).color(currentColor));
-                }
-            }
+    public record Style(@Nonnull String color, boolean bold, boolean italic, boolean underlined) {
+        public static final Style DEFAULT = new Style(DEFAULT_COLOR, false, false, false);
 
-            // Update current color
-            currentColor = "#" + hexMatcher.group(1).toUpperCase();
-            lastEnd = hexMatcher.end();
+        // One shared plain style per legacy color, so &0-&f never allocate
+        private static final Style[] LEGACY = new Style[COLOR_MAP.length];
+
+        static {
+            for (int i = 0; i < COLOR_MAP.length; i++) {
+                LEGACY[i] = new Style(COLOR_MAP[i], false, false, false);
+            }
         }
 
-        // Add remaining text
-        if (lastEnd < normalized.length()) {
-            String segment = normalized.substring(lastEnd);
-            if (!segment.isEmpty()) {
-                parts.add(Message.raw(segment).color(currentColor));
+        /**
+         * Applies this style to a message.
+         */
+        @Nonnull
+        public Message apply(@Nonnull Message message) {
+            Message styled = message.color(color);
+            if (bold) {
+                styled.getFormattedMessage().bold = MaybeBool.True;
             }
+            if (italic) {
+                styled.getFormattedMessage().italic = MaybeBool.True;
+            }
+            if (underlined) {
+                styled.getFormattedMessage().underlined = MaybeBool.True;
+            }
+            return styled;
         }
+    }
+
+    private ColorUtil() {}
+
+    /**
+     * Parses color and format codes and returns a styled Message.
+     */
+    @Nonnull
+    public static Message colorize(@Nonnull String text) {
+        return colorize(text, Style.DEFAULT);
+    }
+
+    /**
+     * Parses color and format codes, starting from the given style instead of plain white.
+     * Used to continue a style from text that was colorized separately.
+     */
+    @Nonnull
+    public static Message colorize(@Nonnull String text, @Nonnull Style initialStyle) {
+        List<Message> parts = new ArrayList<>(4);
+        parse(text, initialStyle, parts);
 
         if (parts.isEmpty()) {
-            return Message.raw(text);
+            return Message.raw("");
         } else if (parts.size() == 1) {
             return parts.getFirst();
         } else {
             return Message.join(parts.toArray(new Message[0]));
         }
     }
+
+    /**
+     * Colorizes a string that never changes (e.g. a fixed announcement) and caches the result.
+     * The returned Message is shared, so callers must not modify it.
+     */
+    @Nonnull
+    public static Message colorizeConstant(@Nonnull String text) {
+        Message cached = CONSTANT_CACHE.get(text);
+        if (cached != null) {
+            return cached;
+        }
+        if (CONSTANT_CACHE.size() >= CONSTANT_CACHE_LIMIT) {
+            CONSTANT_CACHE.clear();
+        }
+        Message message = colorize(text);
+        CONSTANT_CACHE.put(text, message);
+        return message;
+    }
+
+    /**
+     * Gets the style in effect at the end of a string, i.e. the style the next text would have.
+     */
+    @Nonnull
+    public static Style getTrailingStyle(@Nonnull String text, @Nonnull Style initialStyle) {
+        return parse(text, initialStyle, null);
+    }
+
+    /**
+     * Walks the string once, emitting a message for each run of text with the same style.
+     *
+     * @param out where to add the segments, or null to only compute the trailing style
+     * @return the style at the end of the string
+     */
+    @Nonnull
+    private static Style parse(@Nonnull String text, @Nonnull Style initialStyle, @Nullable List<Message> out) {
+        Style style = initialStyle;
+        int length = text.length();
+        int segmentStart = 0;
+        int i = 0;
+
+        while (i < length) {
+            if (text.charAt(i) != '&' || i + 1 >= length) {
+                i++;
+                continue;
+            }
+
+            char code = text.charAt(i + 1);
+            Style next;
+            int codeLength = 2;
+            int colorIndex = hexValue(code);
+
+            if (colorIndex >= 0) {
+                next = Style.LEGACY[colorIndex];
+            } else if (code == '#' && isHexColor(text, i + 2)) {
+                next = new Style(toHexColor(text, i + 2), false, false, false);
+                codeLength = 8;
+            } else {
+                next = switch (code) {
+                    case 'l', 'L' -> new Style(style.color(), true, style.italic(), style.underlined());
+                    case 'o', 'O' -> new Style(style.color(), style.bold(), true, style.underlined());
+                    case 'n', 'N' -> new Style(style.color(), style.bold(), style.italic(), true);
+                    case 'r', 'R' -> Style.DEFAULT;
+                    default -> null;
+                };
+            }
+
+            if (next == null) {
+                // Not a code, keep the '&' as text
+                i++;
+                continue;
+            }
+
+            if (out != null && i > segmentStart) {
+                out.add(style.apply(Message.raw(text.substring(segmentStart, i))));
+            }
+            style = next;
+            i += codeLength;
+            segmentStart = i;
+        }
+
+        if (out != null && segmentStart < length) {
+            out.add(style.apply(Message.raw(text.substring(segmentStart))));
+        }
+        return style;
+    }
+
+    /**
+     * ASCII-only hex digit value, or -1. (Character.digit also accepts non-Latin digits.)
+     */
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static boolean isHexColor(@Nonnull String text, int start) {
+        if (start + 6 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + 6; i++) {
+            if (hexValue(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private static String toHexColor(@Nonnull String text, int start) {
+        char[] hex = new char[7];
+        hex[0] = '#';
+        for (int i = 0; i < 6; i++) {
+            hex[i + 1] = Character.toUpperCase(text.charAt(start + i));
+        }
+        return new String(hex);
+    }
 }
@@ -1,5 +1,6 @@
 package com.nhulston.essentials.util;
 
+import com.nhulston.essentials.models.DamagePolicy;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseResult;
 import org.tomlj.TomlTable;
@@ -14,90 +15,63 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ConfigManager {
-    private static final String DEFAULT_CHAT_FORMAT = "&7%player%&f: %message%";
-    private static final int DEFAULT_SPAWN_PROTECTION_RADIUS = 16;
-    private static final int DEFAULT_TELEPORT_DELAY = 3;
-    private static final int DEFAULT_RTP_COOLDOWN = 300;
+    static final String DEFAULT_CHAT_FORMAT = "&7%player%&f: %message%";
+    static final int DEFAULT_SPAWN_PROTECTION_RADIUS = 16;
+    static final int DEFAULT_TELEPORT_DELAY = 3;
+    static final int DEFAULT_TPA_EXPIRE_SECONDS = 20;
+    static final int DEFAULT_RTP_COOLDOWN = 300;
+    static final int DEFAULT_REPAIR_COOLDOWN = 43200;
+    static final String DEFAULT_WELCOME_MESSAGE = "&e%player% &6has joined the server for the first time!";
+    static final String DEFAULT_MOTD_MESSAGE = "&6Welcome to the server, &e%player%&6!";
+    static final String DEFAULT_SHOUT_PREFIX = "&0[&7Broadcast&0] &f";
+    private static final String SPAWN_DAMAGE_REGION = "spawn";
+    private static final String HOME_PERMISSION_PREFIX = "essentials.homes.";
+    private static final String TPA_EXPIRE_PERMISSION_PREFIX = "essentials.tpa.expire.";
+    private static final String COOLDOWN_PERMISSION_PREFIX = "essentials.cooldown.";
 
     // Pattern to match section headers like [section], [section-name], or [section.subsection]
     private static final Pattern SECTION_PATTERN = Pattern.compile("^\\[([a-zA-Z0-9_.-]+)]\\s*$");
 
     private final Path configPath;
 
-    // Home limits by permission tier (e.g., essentials.homes.default -> 5)
-    private final HashMap<String, Integer> homeLimits = new HashMap<>();
+    // Every getter reads this one reference; reload swaps it in a single write
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.defaults();
 
-    // Chat settings
-    private boolean chatEnabled = true;
-    private String chatFallbackFormat = DEFAULT_CHAT_FORMAT;
-    private final LinkedHashMap<String, String> chatFormats = new LinkedHashMap<>();
+    // Content and per-section text of the last file that was applied, used to detect changes
+    private String loadedContent = null;
+    private Map<String, String> loadedSections = Map.of();
 
-    // Build settings
-    private boolean disableBuilding = false;
-
-    // Spawn settings
-    private boolean firstJoinSpawnEnabled = true;
-    private boolean everyJoinSpawnEnabled = false;
-    private boolean deathSpawnEnabled = true;
-
-    // Welcome broadcast settings
-    private boolean welcomeBroadcastEnabled = true;
-    private String welcomeBroadcastMessage = "&e%player% &6has joined the server for the first time!";
-
-    // Teleport settings
-    private int teleportDelay = DEFAULT_TELEPORT_DELAY;
-
-    // Spawn protection settings
-    private boolean spawnProtectionEnabled = true;
-    private int spawnProtectionRadius = DEFAULT_SPAWN_PROTECTION_RADIUS;
-    private int spawnProtectionMinY = -1;
-    private int spawnProtectionMaxY = -1;
-    private boolean spawnProtectionInvulnerable = true;
-    private boolean spawnProtectionShowTitles = true;
-    private String spawnProtectionEnterTitle = "Entering Spawn";
-    private String spawnProtectionEnterSubtitle = "This is a protected area";
-    private String spawnProtectionExitTitle = "Leaving Spawn";
-    private String spawnProtectionExitSubtitle = "You can now build";
-
-    // RTP settings
-    private int rtpCooldown = DEFAULT_RTP_COOLDOWN;
-    private String rtpDefaultWorld = "default";
-    private final HashMap<String, Integer> rtpWorlds = new HashMap<>();
-
-    // MOTD settings
-    private boolean motdEnabled = true;
-    private String motdMessage = "&6Welcome to the server, &e%player%&6!";
-
-    // Sleep settings
-    private boolean sleepEnabled = true;
-    private int sleepPercentage = 20;
-
-    // Shout settings
-    private String shoutPrefix = "&0[&7Broadcast&0] &f";
-
-    // Repair settings
-    private int repairCooldown = 43200;
+    private final List<Consumer<Set<String>>> reloadListeners = new CopyOnWriteArrayList<>();
 
     public ConfigManager(@Nonnull Path dataFolder) {
         this.configPath = dataFolder.resolve("config.toml");
-        load();
+        load(true);
     }
 
-    private void load() {
-        if (!Files.exists(configPath)) {
+    /**
+     * Loads the config file and swaps in a new snapshot.
+     * Only sections whose text changed since the last load are replaced; the rest keep their
+     * existing records. Synchronized so a manual reload and a file-watch reload can't interleave.
+     *
+     * @param migrate whether to add missing sections from the default config first
+     */
+    private synchronized void load(boolean migrate) {
+        boolean created = !Files.exists(configPath);
+        if (created) {
             createDefault();
-        } else {
-            // Check for missing sections and add them
-            migrateConfig();
         }
 
         try {
@@ -111,110 +85,273 @@ public class ConfigManager {
             } else {
                 configContent = new String(bytes, StandardCharsets.UTF_8);
             }
-            
+
+            if (migrate && !created) {
+                // Check for missing sections and add them
+                configContent = migrateConfig(configContent);
+            }
+
+            // Our own migration writes (and editor saves with no edits) land here too
+            if (configContent.equals(loadedContent)) {
+                return;
+            }
+
+            long startTime = System.nanoTime();
             TomlParseResult config = Toml.parse(configContent);
 
             if (config.hasErrors()) {
                 config.errors().forEach(error -> Log.error("Config error: " + error.toString()));
-                Log.warning("Using default config values due to errors.");
+                Log.warning("Keeping previous config values due to errors.");
                 return;
             }
 
-            // Homes config - load permission-based limits
-            homeLimits.clear();
-            TomlTable homeLimitsTable = config.getTable("homes.limits");
-            if (homeLimitsTable != null) {
-                for (String tier : homeLimitsTable.keySet()) {
-                    Long limit = homeLimitsTable.getLong(tier);
-                    if (limit != null) {
-                        homeLimits.put(tier.toLowerCase(), limit.intValue());
-                    }
+            Map<String, String> sections = groupSections(configContent);
+            Set<String> changed = new TreeSet<>();
+            for (String section : sections.keySet()) {
+                if (!sections.get(section).equals(loadedSections.get(section))) {
+                    changed.add(section);
                 }
             }
+            for (String section : loadedSections.keySet()) {
+                if (!sections.containsKey(section)) {
+                    changed.add(section);
+                }
+            }
+
+            ConfigSnapshot current = snapshot;
+            snapshot = loadedContent == null ? compile(config) : current.withChangedSections(compile(config), changed);
+            loadedContent = configContent;
+            loadedSections = sections;
+
+            long elapsedMicros = (System.nanoTime() - startTime) / 1000;
+            String timing = String.format("%.1f ms", elapsedMicros / 1000.0);
+            if (changed.isEmpty()) {
+                Log.info("Config loaded in " + timing + " (no section changes).");
+            } else {
+                Log.info("Config loaded in " + timing + " (changed: " + String.join(", ", changed) + ").");
+            }
+
+            for (Consumer<Set<String>> listener : reloadListeners) {
+                listener.accept(changed);
+            }
+        } catch (Exception e) {
+            Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            if (e.getCause() != null) {
+                Log.error("Caused by: " + e.getCause().getClass().getSimpleName() + " - " + e.getCause().getMessage());
+            }
+            Log.warning("Keeping previous config values.");
+        }
+    }
+
+    /**
+     * Registers a listener that runs after each reload that changed the file.
+     * The listener receives the names of the top-level sections that changed
+     * (e.g. "chat", "homes"); it runs on the reloading thread.
+     */
+    public void addReloadListener(@Nonnull Consumer<Set<String>> listener) {
+        reloadListeners.add(listener);
+    }
 
-            // Chat config
-            chatEnabled = config.getBoolean("chat.enabled", () -> true);
-            chatFallbackFormat = config.getString("chat.fallback-format", () -> DEFAULT_CHAT_FORMAT);
-
-            // Load chat formats (preserve order for priority)
-            chatFormats.clear();
-            TomlTable formatsTable = config.getTable("chat.formats");
-            if (formatsTable != null) {
-                for (String group : formatsTable.keySet()) {
-                    String format = formatsTable.getString(group);
-                    if (format != null) {
-                        chatFormats.put(group.toLowerCase(), format);
-                    }
+    /**
+     * Groups section text by top-level section name ([homes] and [homes.limits] both go to "homes").
+     */
+    @Nonnull
+    private Map<String, String> groupSections(@Nonnull String config) {
+        Map<String, String> grouped = new HashMap<>();
+        for (Map.Entry<String, String> entry : extractSections(config).entrySet()) {
+            String name = entry.getKey();
+            int dot = name.indexOf('.');
+            String topLevel = dot >= 0 ? name.substring(0, dot) : name;
+            grouped.merge(topLevel, entry.getValue(), String::concat);
+        }
+        return grouped;
+    }
+
+    /**
+     * Compiles a parsed config into a new immutable snapshot.
+     * Nothing is published until every section has parsed successfully.
+     */
+    @Nonnull
+    private ConfigSnapshot compile(@Nonnull TomlParseResult config) {
+        ConfigSnapshot.SpawnProtectionSettings spawnProtection = compileSpawnProtection(config);
+        return new ConfigSnapshot(
+                compileHomes(config),
+                compileChat(config),
+                new ConfigSnapshot.AntiSpamSettings(
+                        config.getBoolean("anti-spam.enabled", () -> true),
+                        Math.max(0.01, getDoubleSafe(config, "anti-spam.messages-per-second", 1.0)),
+                        Math.max(1, getIntSafe(config, "anti-spam.burst", 4)),
+                        Math.max(0, getIntSafe(config, "anti-spam.duplicate-window", 3)),
+                        Math.max(1, getIntSafe(config, "anti-spam.strikes-before-mute", 5)),
+                        Math.max(0, getIntSafe(config, "anti-spam.mute-seconds", 10)),
+                        Math.max(0, getIntSafe(config, "anti-spam.max-mute-seconds", 300))),
+                new ConfigSnapshot.BuildSettings(config.getBoolean("build.disable-building", () -> false)),
+                new ConfigSnapshot.TeleportSettings(getIntSafe(config, "teleport.delay", DEFAULT_TELEPORT_DELAY)),
+                compileTpa(config),
+                new ConfigSnapshot.SpawnSettings(
+                        config.getBoolean("spawn.first-join", () -> true),
+                        config.getBoolean("spawn.every-join", () -> false),
+                        config.getBoolean("spawn.death-spawn", () -> true)),
+                new ConfigSnapshot.WelcomeBroadcastSettings(
+                        config.getBoolean("welcome-broadcast.enabled", () -> true),
+                        config.getString("welcome-broadcast.message", () -> DEFAULT_WELCOME_MESSAGE)),
+                spawnProtection,
+                compileDamagePolicy(config, spawnProtection),
+                compileRtp(config),
+                ConfigSnapshot.MotdSettings.of(
+                        config.getBoolean("motd.enabled", () -> true),
+                        config.getString("motd.message", () -> DEFAULT_MOTD_MESSAGE)),
+                new ConfigSnapshot.SleepSettings(
+                        config.getBoolean("sleep.enabled", () -> true),
+                        getIntSafe(config, "sleep.percentage", 20)),
+                new ConfigSnapshot.ShoutSettings(config.getString("shout.prefix", () -> DEFAULT_SHOUT_PREFIX)),
+                new ConfigSnapshot.RepairSettings(getIntSafe(config, "repair.cooldown", DEFAULT_REPAIR_COOLDOWN)),
+                compileCooldowns(config)
+        );
+    }
+
+    @Nonnull
+    private ConfigSnapshot.HomeSettings compileHomes(@Nonnull TomlParseResult config) {
+        HashMap<String, Integer> limits = new HashMap<>();
+        TomlTable homeLimitsTable = config.getTable("homes.limits");
+        if (homeLimitsTable != null) {
+            for (String tier : homeLimitsTable.keySet()) {
+                Long limit = homeLimitsTable.getLong(tier);
+                if (limit != null) {
+                    limits.put(tier.toLowerCase(), limit.intValue());
                 }
             }
+        }
 
-            // Build config
-            disableBuilding = config.getBoolean("build.disable-building", () -> false);
-
-            // Spawn config
-            firstJoinSpawnEnabled = config.getBoolean("spawn.first-join", () -> true);
-            everyJoinSpawnEnabled = config.getBoolean("spawn.every-join", () -> false);
-            deathSpawnEnabled = config.getBoolean("spawn.death-spawn", () -> true);
-
-            // Welcome broadcast config
-            welcomeBroadcastEnabled = config.getBoolean("welcome-broadcast.enabled", () -> true);
-            welcomeBroadcastMessage = config.getString("welcome-broadcast.message", 
-                    () -> "&e%player% &6has joined the server for the first time!");
-
-            // Teleport config
-            teleportDelay = getIntSafe(config, "teleport.delay", DEFAULT_TELEPORT_DELAY);
-
-            // Spawn protection config
-            spawnProtectionEnabled = config.getBoolean("spawn-protection.enabled", () -> true);
-            spawnProtectionRadius = getIntSafe(config, "spawn-protection.radius", DEFAULT_SPAWN_PROTECTION_RADIUS);
-            spawnProtectionMinY = getIntSafe(config, "spawn-protection.min-y", -1);
-            spawnProtectionMaxY = getIntSafe(config, "spawn-protection.max-y", -1);
-            spawnProtectionInvulnerable = config.getBoolean("spawn-protection.invulnerable", () -> true);
-            spawnProtectionShowTitles = config.getBoolean("spawn-protection.show-titles", () -> true);
-            spawnProtectionEnterTitle = config.getString("spawn-protection.enter-title", () -> "Entering Spawn");
-            spawnProtectionEnterSubtitle = config.getString("spawn-protection.enter-subtitle", () -> "This is a protected area");
-            spawnProtectionExitTitle = config.getString("spawn-protection.exit-title", () -> "Leaving Spawn");
-            spawnProtectionExitSubtitle = config.getString("spawn-protection.exit-subtitle", () -> "You can now build");
-
-            // RTP config
-            rtpCooldown = getIntSafe(config, "rtp.cooldown", DEFAULT_RTP_COOLDOWN);
-            
-            rtpWorlds.clear();
-            TomlTable rtpWorldsTable = config.getTable("rtp.worlds");
-            if (rtpWorldsTable != null) {
-                for (String worldName : rtpWorldsTable.keySet()) {
-                    Long radius = rtpWorldsTable.getLong(worldName);
-                    if (radius != null) {
-                        rtpWorlds.put(worldName, radius.intValue());
-                    }
+        // Highest limit first, so a lookup can stop at the first tier the player has
+        List<ConfigSnapshot.HomeTier> tiers = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : limits.entrySet()) {
+            tiers.add(new ConfigSnapshot.HomeTier(entry.getKey(), HOME_PERMISSION_PREFIX + entry.getKey(), entry.getValue()));
+        }
+        tiers.sort(Comparator.comparingInt(ConfigSnapshot.HomeTier::limit).reversed());
+
+        return new ConfigSnapshot.HomeSettings(List.copyOf(tiers), Map.copyOf(limits));
+    }
+
+    @Nonnull
+    private ConfigSnapshot.TpaSettings compileTpa(@Nonnull TomlParseResult config) {
+        List<ConfigSnapshot.TpaExpiryTier> tiers = new ArrayList<>();
+        TomlTable tiersTable = config.getTable("tpa.expire-tiers");
+        if (tiersTable != null) {
+            for (String tier : tiersTable.keySet()) {
+                Long seconds = tiersTable.getLong(tier);
+                if (seconds != null && seconds > 0) {
+                    String name = tier.toLowerCase();
+                    tiers.add(new ConfigSnapshot.TpaExpiryTier(name, TPA_EXPIRE_PERMISSION_PREFIX + name,
+                            seconds.intValue()));
                 }
             }
+        }
+        tiers.sort(Comparator.comparingInt(ConfigSnapshot.TpaExpiryTier::seconds).reversed());
 
-            String defaultWorld = config.getString("rtp.default-world");
-            rtpDefaultWorld = defaultWorld != null ? defaultWorld : "default";
+        return new ConfigSnapshot.TpaSettings(
+                Math.max(1, getIntSafe(config, "tpa.expire-seconds", DEFAULT_TPA_EXPIRE_SECONDS)),
+                List.copyOf(tiers));
+    }
 
-            // MOTD config
-            motdEnabled = config.getBoolean("motd.enabled", () -> true);
-            motdMessage = config.getString("motd.message", () -> "&6Welcome to the server, &e%player%&6!");
+    @Nonnull
+    private ConfigSnapshot.CooldownSettings compileCooldowns(@Nonnull TomlParseResult config) {
+        List<ConfigSnapshot.CooldownTier> tiers = new ArrayList<>();
+        TomlTable tiersTable = config.getTable("cooldowns.tiers");
+        if (tiersTable != null) {
+            for (String tier : tiersTable.keySet()) {
+                Double multiplier = tiersTable.isDouble(tier) ? tiersTable.getDouble(tier)
+                        : tiersTable.isLong(tier) ? Double.valueOf(tiersTable.getLong(tier)) : null;
+                if (multiplier != null && multiplier >= 0) {
+                    String name = tier.toLowerCase();
+                    tiers.add(new ConfigSnapshot.CooldownTier(name, COOLDOWN_PERMISSION_PREFIX + name, multiplier));
+                }
+            }
+        }
+        tiers.sort(Comparator.comparingDouble(ConfigSnapshot.CooldownTier::multiplier));
+        return new ConfigSnapshot.CooldownSettings(List.copyOf(tiers));
+    }
 
-            // Sleep config
-            sleepEnabled = config.getBoolean("sleep.enabled", () -> true);
-            sleepPercentage = getIntSafe(config, "sleep.percentage", 20);
+    @Nonnull
+    private ConfigSnapshot.ChatSettings compileChat(@Nonnull TomlParseResult config) {
+        // Preserve config order for priority
+        List<ConfigSnapshot.ChatFormat> formats = new ArrayList<>();
+        TomlTable formatsTable = config.getTable("chat.formats");
+        if (formatsTable != null) {
+            for (String group : formatsTable.keySet()) {
+                String format = formatsTable.getString(group);
+                if (format != null) {
+                    formats.add(ConfigSnapshot.ChatFormat.of(group.toLowerCase(), format));
+                }
+            }
+        }
 
-            // Shout config
-            shoutPrefix = config.getString("shout.prefix", () -> "&0[&7Broadcast&0] &f");
+        return ConfigSnapshot.ChatSettings.of(
+                config.getBoolean("chat.enabled", () -> true),
+                config.getString("chat.fallback-format", () -> DEFAULT_CHAT_FORMAT),
+                formats);
+    }
 
-            // Repair config
-            repairCooldown = getIntSafe(config, "repair.cooldown", 43200);
+    @Nonnull
+    private ConfigSnapshot.SpawnProtectionSettings compileSpawnProtection(@Nonnull TomlParseResult config) {
+        return ConfigSnapshot.SpawnProtectionSettings.of(
+                config.getBoolean("spawn-protection.enabled", () -> true),
+                getIntSafe(config, "spawn-protection.radius", DEFAULT_SPAWN_PROTECTION_RADIUS),
+                getIntSafe(config, "spawn-protection.min-y", -1),
+                getIntSafe(config, "spawn-protection.max-y", -1),
+                config.getBoolean("spawn-protection.invulnerable", () -> true),
+                config.getBoolean("spawn-protection.show-titles", () -> true),
+                config.getString("spawn-protection.enter-title", () -> "Entering Spawn"),
+                config.getString("spawn-protection.enter-subtitle", () -> "This is a protected area"),
+                config.getString("spawn-protection.exit-title", () -> "Leaving Spawn"),
+                config.getString("spawn-protection.exit-subtitle", () -> "You can now build"));
+    }
 
-            Log.info("Config loaded!");
-        } catch (Exception e) {
-            Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            if (e.getCause() != null) {
-                Log.error("Caused by: " + e.getCause().getClass().getSimpleName() + " - " + e.getCause().getMessage());
+    @Nonnull
+    private ConfigSnapshot.DamagePolicySettings compileDamagePolicy(@Nonnull TomlParseResult config,
+                                                                    @Nonnull ConfigSnapshot.SpawnProtectionSettings spawnProtection) {
+        DamagePolicy spawnPolicy = ConfigSnapshot.DamagePolicySettings.DEFAULT_SPAWN_POLICY;
+        HashMap<String, DamagePolicy> worldPolicies = new HashMap<>();
+        TomlTable damagePolicyTable = config.getTable("damage-policy");
+        if (damagePolicyTable != null) {
+            for (String region : damagePolicyTable.keySet()) {
+                TomlTable regionTable = damagePolicyTable.getTable(region);
+                if (regionTable == null) {
+                    continue;
+                }
+                DamagePolicy policy = new DamagePolicy(
+                        regionTable.getBoolean("pvp", () -> true),
+                        regionTable.getBoolean("pve", () -> true),
+                        regionTable.getBoolean("environment", () -> true)
+                );
+                if (region.equalsIgnoreCase(SPAWN_DAMAGE_REGION)) {
+                    spawnPolicy = policy;
+                } else {
+                    worldPolicies.put(region, policy);
+                }
+            }
+        }
+        return ConfigSnapshot.DamagePolicySettings.of(spawnPolicy, worldPolicies, spawnProtection);
+    }
+
+    @Nonnull
+    private ConfigSnapshot.RtpSettings compileRtp(@Nonnull TomlParseResult config) {
+        HashMap<String, Integer> worlds = new HashMap<>();
+        TomlTable rtpWorldsTable = config.getTable("rtp.worlds");
+        if (rtpWorldsTable != null) {
+            for (String worldName : rtpWorldsTable.keySet()) {
+                Long radius = rtpWorldsTable.getLong(worldName);
+                if (radius != null) {
+                    worlds.put(worldName, radius.intValue());
+                }
             }
-            Log.warning("Using default config values.");
         }
+
+        String defaultWorld = config.getString("rtp.default-world");
+        return new ConfigSnapshot.RtpSettings(
+                getIntSafe(config, "rtp.cooldown", DEFAULT_RTP_COOLDOWN),
+                defaultWorld != null ? defaultWorld : "default",
+                Map.copyOf(worlds));
     }
 
     /**
@@ -222,32 +359,33 @@ public class ConfigManager {
      */
     public void reload() {
         Log.info("Reloading config...");
-        load();
+        load(true);
+    }
+
+    /**
+     * Reloads the configuration after an external edit.
+     * Skips migration, and does nothing if the file content hasn't changed.
+     */
+    public void reloadIfChanged() {
+        load(false);
     }
 
     /**
      * Migrates the user's config by adding any missing sections from the default config.
      * Preserves user's existing values and comments.
+     *
+     * @param userConfig the config content already read from disk
+     * @return the migrated content, or the input if nothing was added
      */
-    private void migrateConfig() {
+    @Nonnull
+    private String migrateConfig(@Nonnull String userConfig) {
         String defaultConfig = loadDefaultConfigFromResources();
         if (defaultConfig == null) {
             Log.warning("Could not load default config from resources for migration.");
-            return;
+            return userConfig;
         }
 
         try {
-            // Read user config as bytes first to handle potential BOM
-            byte[] bytes = Files.readAllBytes(configPath);
-            String userConfig;
-            
-            // Check for UTF-8 BOM and skip it if present
-            if (bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
-                userConfig = new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8);
-            } else {
-                userConfig = new String(bytes, StandardCharsets.UTF_8);
-            }
-            
             // Find sections in both configs
             Set<String> userSections = findTopLevelSections(userConfig);
             Map<String, String> defaultSections = extractSections(defaultConfig);
@@ -261,7 +399,7 @@ public class ConfigManager {
             }
             
             if (missingSections.isEmpty()) {
-                return;
+                return userConfig;
             }
             
             // Append missing sections to user config
@@ -276,11 +414,14 @@ public class ConfigManager {
                 Log.info("Added missing config section: [" + section + "]");
             }
             
-            Files.writeString(configPath, newConfig.toString(), StandardCharsets.UTF_8);
+            String migrated = newConfig.toString();
+            Files.writeString(configPath, migrated, StandardCharsets.UTF_8);
             Log.info("Config migrated with " + missingSections.size() + " new section(s).");
+            return migrated;
             
         } catch (Exception e) {
             Log.warning("Config migration skipped: " + e.getClass().getName() + " - " + e.getMessage());
+            return userConfig;
         }
     }
 
@@ -389,6 +530,22 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Safely gets a decimal value from the config (integers are accepted too), with fallback to default.
+     */
+    private double getDoubleSafe(@Nonnull TomlParseResult config, @Nonnull String key, double defaultValue) {
+        try {
+            if (config.isLong(key)) {
+                Long value = config.getLong(key);
+                return value != null ? value : defaultValue;
+            }
+            Double value = config.getDouble(key);
+            return value != null ? value : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
     private void createDefault() {
         try {
             Files.createDirectories(configPath.getParent());
@@ -407,108 +564,165 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Gets the current config snapshot.
+     * Read it once per operation when several values must come from the same reload.
+     */
+    @Nonnull
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Gets the home limits map (tier name -> limit).
      */
     @Nonnull
     public Map<String, Integer> getHomeLimits() {
-        return homeLimits;
+        return snapshot.homes().limits();
+    }
+
+    /**
+     * Gets the home limit tiers, highest limit first.
+     */
+    @Nonnull
+    public List<ConfigSnapshot.HomeTier> getHomeTiers() {
+        return snapshot.homes().tiers();
     }
 
     public boolean isChatEnabled() {
-        return chatEnabled;
+        return snapshot.chat().enabled();
     }
 
     @Nonnull
     public String getChatFallbackFormat() {
-        return chatFallbackFormat;
+        return snapshot.chat().fallbackFormat();
+    }
+
+    /**
+     * Gets the group chat formats in priority order.
+     */
+    @Nonnull
+    public List<ConfigSnapshot.ChatFormat> getChatFormats() {
+        return snapshot.chat().formats();
     }
 
     @Nonnull
-    public Map<String, String> getChatFormats() {
-        return chatFormats;
+    public ConfigSnapshot.AntiSpamSettings getAntiSpamSettings() {
+        return snapshot.antiSpam();
     }
 
     public boolean isBuildingDisabled() {
-        return disableBuilding;
+        return snapshot.build().disableBuilding();
     }
 
     public boolean isFirstJoinSpawnEnabled() {
-        return firstJoinSpawnEnabled;
+        return snapshot.spawn().firstJoin();
     }
 
     public boolean isEveryJoinSpawnEnabled() {
-        return everyJoinSpawnEnabled;
+        return snapshot.spawn().everyJoin();
     }
 
     public boolean isDeathSpawnEnabled() {
-        return deathSpawnEnabled;
+        return snapshot.spawn().deathSpawn();
     }
 
     public boolean isWelcomeBroadcastEnabled() {
-        return welcomeBroadcastEnabled;
+        return snapshot.welcomeBroadcast().enabled();
     }
 
     @Nonnull
     public String getWelcomeBroadcastMessage() {
-        return welcomeBroadcastMessage;
+        return snapshot.welcomeBroadcast().message();
     }
 
     public int getTeleportDelay() {
-        return teleportDelay;
+        return snapshot.teleport().delay();
+    }
+
+    @Nonnull
+    public ConfigSnapshot.TpaSettings getTpaSettings() {
+        return snapshot.tpa();
     }
 
     public boolean isSpawnProtectionEnabled() {
-        return spawnProtectionEnabled;
+        return snapshot.spawnProtection().enabled();
     }
 
     public int getSpawnProtectionRadius() {
-        return spawnProtectionRadius;
+        return snapshot.spawnProtection().radius();
     }
 
     public boolean isSpawnProtectionInvulnerable() {
-        return spawnProtectionInvulnerable;
+        return snapshot.spawnProtection().invulnerable();
     }
 
     public int getSpawnProtectionMinY() {
-        return spawnProtectionMinY;
+        return snapshot.spawnProtection().minY();
     }
 
     public int getSpawnProtectionMaxY() {
-        return spawnProtectionMaxY;
+        return snapshot.spawnProtection().maxY();
     }
 
     public boolean isSpawnProtectionShowTitles() {
-        return spawnProtectionShowTitles;
+        return snapshot.spawnProtection().showTitles();
     }
 
     @Nonnull
     public String getSpawnProtectionEnterTitle() {
-        return spawnProtectionEnterTitle;
+        return snapshot.spawnProtection().enterTitle();
     }
 
     @Nonnull
     public String getSpawnProtectionEnterSubtitle() {
-        return spawnProtectionEnterSubtitle;
+        return snapshot.spawnProtection().enterSubtitle();
     }
 
     @Nonnull
     public String getSpawnProtectionExitTitle() {
-        return spawnProtectionExitTitle;
+        return snapshot.spawnProtection().exitTitle();
     }
 
     @Nonnull
     public String getSpawnProtectionExitSubtitle() {
-        return spawnProtectionExitSubtitle;
+        return snapshot.spawnProtection().exitSubtitle();
+    }
+
+    @Nonnull
+    public DamagePolicy getSpawnDamagePolicy() {
+        return snapshot.damagePolicy().spawnPolicy();
+    }
+
+    /**
+     * Gets the damage policy for a world, or null if the world has no policy configured.
+     */
+    @Nullable
+    public DamagePolicy getWorldDamagePolicy(@Nonnull String worldName) {
+        return snapshot.damagePolicy().worldPolicies().get(worldName);
+    }
+
+    /**
+     * Checks if any active damage policy blocks the given kind of damage.
+     */
+    public boolean isDamageSourceRestricted(@Nonnull DamagePolicy.Source source) {
+        return snapshot.damagePolicy().restrictedSources().contains(source);
+    }
+
+    /**
+     * Checks if any active damage policy blocks anything at all.
+     */
+    public boolean hasDamageRestrictions() {
+        return !snapshot.damagePolicy().restrictedSources().isEmpty();
     }
 
     public int getRtpCooldown() {
-        return rtpCooldown;
+        return snapshot.rtp().cooldown();
     }
 
     @Nonnull
     public String getRtpDefaultWorld() {
-        return rtpDefaultWorld;
+        return snapshot.rtp().defaultWorld();
     }
 
     /**
@@ -516,32 +730,45 @@ public class ConfigManager {
      */
     @Nullable
     public Integer getRtpRadius(@Nonnull String worldName) {
-        return rtpWorlds.get(worldName);
+        return snapshot.rtp().worlds().get(worldName);
     }
 
     public boolean isMotdEnabled() {
-        return motdEnabled;
+        return snapshot.motd().enabled();
     }
 
     @Nonnull
     public String getMotdMessage() {
-        return motdMessage;
+        return snapshot.motd().message();
+    }
+
+    /**
+     * Gets the MOTD split into non-blank lines.
+     */
+    @Nonnull
+    public List<String> getMotdLines() {
+        return snapshot.motd().lines();
     }
 
     public boolean isSleepEnabled() {
-        return sleepEnabled;
+        return snapshot.sleep().enabled();
     }
 
     public int getSleepPercentage() {
-        return sleepPercentage;
+        return snapshot.sleep().percentage();
     }
 
     @Nonnull
     public String getShoutPrefix() {
-        return shoutPrefix;
+        return snapshot.shout().prefix();
     }
 
     public int getRepairCooldown() {
-        return repairCooldown;
+        return snapshot.repair().cooldown();
+    }
+
+    @Nonnull
+    public ConfigSnapshot.CooldownSettings getCooldownSettings() {
+        return snapshot.cooldowns();
     }
 }
@@ -0,0 +1,242 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.server.core.Message;
+import com.nhulston.essentials.models.DamagePolicy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, fully parsed view of config.toml.
+ * A new snapshot is compiled on every load and published by ConfigManager through a single
+ * volatile reference, so readers never see a half-reloaded config and never need a lock.
+ * Each TOML section is its own record so unchanged sections keep their identity across reloads.
+ */
+public record ConfigSnapshot(@Nonnull HomeSettings homes,
+                             @Nonnull ChatSettings chat,
+                             @Nonnull AntiSpamSettings antiSpam,
+                             @Nonnull BuildSettings build,
+                             @Nonnull TeleportSettings teleport,
+                             @Nonnull TpaSettings tpa,
+                             @Nonnull SpawnSettings spawn,
+                             @Nonnull WelcomeBroadcastSettings welcomeBroadcast,
+                             @Nonnull SpawnProtectionSettings spawnProtection,
+                             @Nonnull DamagePolicySettings damagePolicy,
+                             @Nonnull RtpSettings rtp,
+                             @Nonnull MotdSettings motd,
+                             @Nonnull SleepSettings sleep,
+                             @Nonnull ShoutSettings shout,
+                             @Nonnull RepairSettings repair,
+                             @Nonnull CooldownSettings cooldowns) {
+
+    /**
+     * Snapshot used before the config file has been read successfully.
+     */
+    @Nonnull
+    public static ConfigSnapshot defaults() {
+        SpawnProtectionSettings spawnProtection = SpawnProtectionSettings.defaults();
+        return new ConfigSnapshot(
+                new HomeSettings(List.of(), Map.of()),
+                ChatSettings.of(true, ConfigManager.DEFAULT_CHAT_FORMAT, List.of()),
+                new AntiSpamSettings(true, 1.0, 4, 3, 5, 10, 300),
+                new BuildSettings(false),
+                new TeleportSettings(ConfigManager.DEFAULT_TELEPORT_DELAY),
+                new TpaSettings(ConfigManager.DEFAULT_TPA_EXPIRE_SECONDS, List.of()),
+                new SpawnSettings(true, false, true),
+                new WelcomeBroadcastSettings(true, ConfigManager.DEFAULT_WELCOME_MESSAGE),
+                spawnProtection,
+                DamagePolicySettings.of(DamagePolicySettings.DEFAULT_SPAWN_POLICY, Map.of(), spawnProtection),
+                new RtpSettings(ConfigManager.DEFAULT_RTP_COOLDOWN, "default", Map.of()),
+                MotdSettings.of(true, ConfigManager.DEFAULT_MOTD_MESSAGE),
+                new SleepSettings(true, 20),
+                new ShoutSettings(ConfigManager.DEFAULT_SHOUT_PREFIX),
+                new RepairSettings(ConfigManager.DEFAULT_REPAIR_COOLDOWN),
+                new CooldownSettings(List.of())
+        );
+    }
+
+    /**
+     * Builds a snapshot that takes the changed sections from a freshly compiled snapshot and
+     * keeps this snapshot's records for everything else.
+     *
+     * @param changed top-level TOML section names (e.g. "chat", "spawn-protection")
+     */
+    @Nonnull
+    ConfigSnapshot withChangedSections(@Nonnull ConfigSnapshot fresh, @Nonnull Set<String> changed) {
+        // Restricted damage sources depend on whether spawn protection is on
+        boolean damagePolicyChanged = changed.contains("damage-policy") || changed.contains("spawn-protection");
+        return new ConfigSnapshot(
+                changed.contains("homes") ? fresh.homes : homes,
+                changed.contains("chat") ? fresh.chat : chat,
+                changed.contains("anti-spam") ? fresh.antiSpam : antiSpam,
+                changed.contains("build") ? fresh.build : build,
+                changed.contains("teleport") ? fresh.teleport : teleport,
+                changed.contains("tpa") ? fresh.tpa : tpa,
+                changed.contains("spawn") ? fresh.spawn : spawn,
+                changed.contains("welcome-broadcast") ? fresh.welcomeBroadcast : welcomeBroadcast,
+                changed.contains("spawn-protection") ? fresh.spawnProtection : spawnProtection,
+                damagePolicyChanged ? fresh.damagePolicy : damagePolicy,
+                changed.contains("rtp") ? fresh.rtp : rtp,
+                changed.contains("motd") ? fresh.motd : motd,
+                changed.contains("sleep") ? fresh.sleep : sleep,
+                changed.contains("shout") ? fresh.shout : shout,
+                changed.contains("repair") ? fresh.repair : repair,
+                changed.contains("cooldowns") ? fresh.cooldowns : cooldowns
+        );
+    }
+
+    /**
+     * A home limit tier with its permission node precomputed.
+     */
+    public record HomeTier(@Nonnull String name, @Nonnull String permission, int limit) {}
+
+    /**
+     * @param tiers  tiers sorted by limit, highest first, so the first permitted tier is the answer
+     * @param limits tier name -> limit
+     */
+    public record HomeSettings(@Nonnull List<HomeTier> tiers, @Nonnull Map<String, Integer> limits) {}
+
+    /**
+     * A chat format for a permission group, compiled into a template. Group names are lower-cased.
+     */
+    public record ChatFormat(@Nonnull String group, @Nonnull String format, @Nonnull ChatTemplate template) {
+
+        @Nonnull
+        static ChatFormat of(@Nonnull String group, @Nonnull String format) {
+            return new ChatFormat(group, format, ChatTemplate.compile(format));
+        }
+    }
+
+    /**
+     * @param formats formats in config order (first matching group wins)
+     */
+    public record ChatSettings(boolean enabled, @Nonnull String fallbackFormat, @Nonnull ChatTemplate fallbackTemplate,
+                               @Nonnull List<ChatFormat> formats) {
+
+        @Nonnull
+        static ChatSettings of(boolean enabled, @Nonnull String fallbackFormat, @Nonnull List<ChatFormat> formats) {
+            return new ChatSettings(enabled, fallbackFormat, ChatTemplate.compile(fallbackFormat), List.copyOf(formats));
+        }
+    }
+
+    /**
+     * Chat flood protection.
+     *
+     * @param duplicateWindow how many recent messages are checked for repeats (0 = off)
+     */
+    public record AntiSpamSettings(boolean enabled, double messagesPerSecond, int burst, int duplicateWindow,
+                                   int strikesBeforeMute, int muteSeconds, int maxMuteSeconds) {}
+
+    public record BuildSettings(boolean disableBuilding) {}
+
+    public record TeleportSettings(int delay) {}
+
+    public record TpaExpiryTier(@Nonnull String name, @Nonnull String permission, int seconds) {}
+
+    /**
+     * @param expireSeconds default request expiry
+     * @param tiers         longer expiries, longest first, so the first permitted tier is the answer
+     */
+    public record TpaSettings(int expireSeconds, @Nonnull List<TpaExpiryTier> tiers) {}
+
+    public record SpawnSettings(boolean firstJoin, boolean everyJoin, boolean deathSpawn) {}
+
+    public record WelcomeBroadcastSettings(boolean enabled, @Nonnull String message) {}
+
+    /**
+     * Spawn protection settings. Titles are colorized once at load; null means "don't show".
+     */
+    public record SpawnProtectionSettings(boolean enabled, int radius, int minY, int maxY,
+                                          boolean invulnerable, boolean showTitles,
+                                          @Nonnull String enterTitle, @Nonnull String enterSubtitle,
+                                          @Nonnull String exitTitle, @Nonnull String exitSubtitle,
+                                          @Nullable Message enterTitleMessage,
+                                          @Nullable Message enterSubtitleMessage,
+                                          @Nullable Message exitTitleMessage,
+                                          @Nullable Message exitSubtitleMessage) {
+
+        @Nonnull
+        static SpawnProtectionSettings defaults() {
+            return of(true, ConfigManager.DEFAULT_SPAWN_PROTECTION_RADIUS, -1, -1, true, true,
+                    "Entering Spawn", "This is a protected area", "Leaving Spawn", "You can now build");
+        }
+
+        @Nonnull
+        static SpawnProtectionSettings of(boolean enabled, int radius, int minY, int maxY,
+                                          boolean invulnerable, boolean showTitles,
+                                          @Nonnull String enterTitle, @Nonnull String enterSubtitle,
+                                          @Nonnull String exitTitle, @Nonnull String exitSubtitle) {
+            boolean showEnter = !enterTitle.isEmpty() || !enterSubtitle.isEmpty();
+            boolean showExit = !exitTitle.isEmpty() || !exitSubtitle.isEmpty();
+            return new SpawnProtectionSettings(enabled, radius, minY, maxY, invulnerable, showTitles,
+                    enterTitle, enterSubtitle, exitTitle, exitSubtitle,
+                    showEnter ? ColorUtil.colorize(enterTitle) : null,
+                    showEnter ? ColorUtil.colorize(enterSubtitle) : null,
+                    showExit ? ColorUtil.colorize(exitTitle) : null,
+                    showExit ? ColorUtil.colorize(exitSubtitle) : null);
+        }
+    }
+
+    /**
+     * Damage policies by region.
+     *
+     * @param restrictedSources every source kind blocked by at least one active policy
+     */
+    public record DamagePolicySettings(@Nonnull DamagePolicy spawnPolicy,
+                                       @Nonnull Map<String, DamagePolicy> worldPolicies,
+                                       @Nonnull Set<DamagePolicy.Source> restrictedSources) {
+        // Matches the pre-policy behavior: block PvP in spawn, allow everything else
+        static final DamagePolicy DEFAULT_SPAWN_POLICY = new DamagePolicy(false, true, true);
+
+        @Nonnull
+        static DamagePolicySettings of(@Nonnull DamagePolicy spawnPolicy,
+                                       @Nonnull Map<String, DamagePolicy> worldPolicies,
+                                       @Nonnull SpawnProtectionSettings spawnProtection) {
+            EnumSet<DamagePolicy.Source> restricted = EnumSet.noneOf(DamagePolicy.Source.class);
+            for (DamagePolicy.Source source : DamagePolicy.Source.values()) {
+                if (spawnProtection.enabled() && spawnProtection.invulnerable() && !spawnPolicy.allows(source)) {
+                    restricted.add(source);
+                }
+                for (DamagePolicy policy : worldPolicies.values()) {
+                    if (!policy.allows(source)) {
+                        restricted.add(source);
+                    }
+                }
+            }
+            return new DamagePolicySettings(spawnPolicy, Map.copyOf(worldPolicies), Set.copyOf(restricted));
+        }
+    }
+
+    public record RtpSettings(int cooldown, @Nonnull String defaultWorld, @Nonnull Map<String, Integer> worlds) {}
+
+    /**
+     * @param lines the MOTD split into non-blank lines with Windows line endings removed
+     */
+    public record MotdSettings(boolean enabled, @Nonnull String message, @Nonnull List<String> lines) {
+
+        @Nonnull
+        static MotdSettings of(boolean enabled, @Nonnull String message) {
+            List<String> lines = message.replace("\r", "").lines()
+                    .filter(line -> !line.trim().isEmpty())
+                    .toList();
+            return new MotdSettings(enabled, message, lines);
+        }
+    }
+
+    public record SleepSettings(boolean enabled, int percentage) {}
+
+    public record ShoutSettings(@Nonnull String prefix) {}
+
+    public record RepairSettings(int cooldown) {}
+
+    public record CooldownTier(@Nonnull String name, @Nonnull String permission, double multiplier) {}
+
+    /**
+     * @param tiers cooldown multipliers, shortest first, so the first permitted tier is the answer
+     */
+    public record CooldownSettings(@Nonnull List<CooldownTier> tiers) {}
+}
@@ -0,0 +1,141 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the plugin data folder and reloads config files when they are edited.
+ * Editors often write a file in several steps, so each file's reload is debounced and only
+ * runs once the file has been quiet for a moment. Reloads run on the watcher's own thread,
+ * never on a world or command thread.
+ */
+public class ConfigWatcher {
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    private final Path directory;
+    private final Map<String, Runnable> reloaders = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public ConfigWatcher(@Nonnull Path directory) {
+        this.directory = directory;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Essentials-ConfigReload");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Registers a reload action for a file in the watched directory.
+     */
+    public void watch(@Nonnull String fileName, @Nonnull Runnable reloader) {
+        reloaders.put(fileName, reloader);
+    }
+
+    /**
+     * Starts watching. Does nothing if the directory can't be watched.
+     */
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Log.warning("Config file watching disabled: " + e.getMessage());
+            return;
+        }
+
+        watchThread = new Thread(this::run, "Essentials-ConfigWatcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost, so check every file
+                        reloaders.keySet().forEach(this::schedule);
+                        continue;
+                    }
+                    Object context = event.context();
+                    if (context instanceof Path path) {
+                        String fileName = path.getFileName().toString();
+                        if (reloaders.containsKey(fileName)) {
+                            schedule(fileName);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    Log.warning("Config folder is no longer accessible, file watching stopped.");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void schedule(@Nonnull String fileName) {
+        pending.compute(fileName, (_, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            // The task needs its own future so it only clears itself, not a newer reload
+            CompletableFuture<ScheduledFuture<?>> self = new CompletableFuture<>();
+            ScheduledFuture<?> future = scheduler.schedule(() -> reload(fileName, self.join()),
+                    DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+            self.complete(future);
+            return future;
+        });
+    }
+
+    private void reload(@Nonnull String fileName, @Nonnull ScheduledFuture<?> future) {
+        pending.remove(fileName, future);
+        Runnable reloader = reloaders.get(fileName);
+        if (reloader == null) {
+            return;
+        }
+        try {
+            reloader.run();
+        } catch (Exception e) {
+            Log.error("Failed to reload " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching and cancels pending reloads.
+     */
+    public void shutdown() {
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each plugin startup phase took.
+ * Phases may run in parallel, so the total wall time can be less than the sum of the phases.
+ */
+public class StartupProfiler {
+    private final long startNanos = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private volatile long totalNanos = -1;
+
+    /**
+     * Runs a phase and records its duration. Safe to call from several threads at once.
+     */
+    public <T> T time(@Nonnull String name, @Nonnull Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            synchronized (phases) {
+                phases.add(new Phase(name, Thread.currentThread().getName(), elapsed));
+            }
+        }
+    }
+
+    /**
+     * Runs a phase that has no result and records its duration.
+     */
+    public void run(@Nonnull String name, @Nonnull Runnable task) {
+        time(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Marks startup as finished and logs the report.
+     */
+    public void finish() {
+        totalNanos = System.nanoTime() - startNanos;
+        Log.info("Startup took " + formatMillis(totalNanos) + ":");
+        for (Phase phase : getPhases()) {
+            Log.info("  " + phase.name() + ": " + formatMillis(phase.nanos()) + " (" + phase.thread() + ")");
+        }
+    }
+
+    /**
+     * Gets the recorded phases in completion order.
+     */
+    @Nonnull
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return List.copyOf(phases);
+        }
+    }
+
+    /**
+     * Gets the wall time from construction to {@link #finish()}, or -1 if startup hasn't finished.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Nonnull
+    public static String formatMillis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+
+    public record Phase(@Nonnull String name, @Nonnull String thread, long nanos) {}
+}
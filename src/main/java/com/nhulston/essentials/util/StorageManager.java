@@ -40,7 +40,12 @@ public class StorageManager {
         } catch (IOException e) {
             Log.error("Failed to create players folder: " + e.getMessage());
         }
+    }
 
+    /**
+     * Loads warps and spawn from disk. Called once during plugin setup.
+     */
+    public void load() {
         loadWarps();
         loadSpawn();
     }
@@ -0,0 +1,133 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for many short timeouts (e.g. TPA request expiry).
+ * Time is split into ticks; each entry sits in the slot for its deadline tick, in an intrusive
+ * linked list, so scheduling and cancelling are O(1) and allocate nothing. {@link #advance}
+ * only visits the slots for ticks that have passed.
+ * <p>
+ * Not thread-safe: callers must guard all methods with the same lock.
+ */
+public final class TimingWheel<T extends TimingWheel.Entry> {
+    private final Entry[] slots;
+    private final int mask;
+    private final long tickMillis;
+    private final long startNanos = System.nanoTime();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Something that can be scheduled on a wheel. An entry can be on at most one wheel at a time.
+     */
+    public abstract static class Entry {
+        private Entry prev;
+        private Entry next;
+        private long deadlineTick;
+        private int slot = -1;
+
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+
+    /**
+     * @param slotCount  number of slots, rounded up to a power of two; timeouts longer than
+     *                   slotCount * tickMillis still work, they are just skipped over more often
+     * @param tickMillis resolution of the wheel
+     */
+    public TimingWheel(int slotCount, long tickMillis) {
+        int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.slots = new Entry[size];
+        this.mask = size - 1;
+        this.tickMillis = Math.max(1, tickMillis);
+    }
+
+    /**
+     * Schedules an entry to expire after a delay. Rescheduling an entry moves it.
+     */
+    public void schedule(@Nonnull T scheduled, long delayMillis) {
+        Entry entry = scheduled;
+        if (entry.isScheduled()) {
+            unlink(entry);
+        }
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        entry.deadlineTick = Math.max(currentTick, nowTick()) + ticks;
+        entry.slot = (int) (entry.deadlineTick & mask);
+
+        Entry head = slots[entry.slot];
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[entry.slot] = entry;
+        size++;
+    }
+
+    /**
+     * Removes an entry before it expires.
+     *
+     * @return false if the entry was not scheduled
+     */
+    public boolean cancel(@Nonnull T entry) {
+        if (!entry.isScheduled()) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Expires every entry whose deadline has passed, in no particular order.
+     * Entries are removed from the wheel before the callback runs; the callback must not
+     * schedule or cancel entries on this wheel.
+     */
+    @SuppressWarnings("unchecked")
+    public void advance(@Nonnull Consumer<? super T> onExpire) {
+        long targetTick = nowTick();
+        if (targetTick <= currentTick) {
+            return;
+        }
+
+        // After a long stall one pass over all slots is enough, since deadlines are compared directly
+        long steps = Math.min(targetTick - currentTick, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            Entry entry = slots[(int) ((currentTick + i) & mask)];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.deadlineTick <= targetTick) {
+                    unlink(entry);
+                    onExpire.accept((T) entry);
+                }
+                entry = next;
+            }
+        }
+        currentTick = targetTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void unlink(@Nonnull Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+        size--;
+    }
+
+    private long nowTick() {
+        return (System.nanoTime() - startNanos) / 1_000_000 / tickMillis;
+    }
+}